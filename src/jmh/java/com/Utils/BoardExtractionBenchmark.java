@@ -0,0 +1,73 @@
+package com.Utils;
+
+import com.Sudoku.SudokuPuzzleParser;
+import com.Zip.ZipPuzzleParser;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Board extraction from captured game-page HTML: the single-pass scanner behind both parsers
+// against the Jsoup DOM + regex approach it replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardExtractionBenchmark {
+
+    @Param({"zip-7x7", "sudoku-6x6"})
+    private String fixture;
+
+    private final ZipPuzzleParser zipPuzzleParser = new ZipPuzzleParser();
+
+    private final SudokuPuzzleParser sudokuPuzzleParser = new SudokuPuzzleParser();
+
+    private String html;
+
+    private boolean zip;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        try (InputStream in = BoardExtractionBenchmark.class.getResourceAsStream("/fixtures/" + fixture + ".html")) {
+            if (in == null) {
+                throw new RuntimeException("Missing fixture " + fixture);
+            }
+            html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        zip = fixture.startsWith("zip");
+    }
+
+    @Benchmark
+    public Object scanner() {
+        return zip ? zipPuzzleParser.parse(html) : sudokuPuzzleParser.parse(html);
+    }
+
+    @Benchmark
+    public void jsoup(Blackhole blackhole) {
+        final Element grid = Jsoup.parse(html).selectFirst(".grid-game-board");
+        final int rows = Integer.parseInt(grid.attr("style").replaceAll(".*--rows:\\s*(\\d+).*", "$1"));
+        final int cols = Integer.parseInt(grid.attr("style").replaceAll(".*--cols:\\s*(\\d+).*", "$1"));
+        final int[][] board = new int[rows][cols];
+        for (Element cell : grid.select(zip ? ".trail-cell" : ".sudoku-cell")) {
+            final int idx = Integer.parseInt(cell.attr("data-cell-idx"));
+            final Element content = cell.selectFirst(zip ? ".trail-cell-content" : ".sudoku-cell-content");
+            if (content != null && !content.text().trim().isEmpty()) {
+                board[idx / cols][idx % cols] = Integer.parseInt(content.text().trim());
+            }
+            blackhole.consume(cell.select(".trail-cell-wall"));
+        }
+        blackhole.consume(board);
+    }
+}
@@ -0,0 +1,39 @@
+package com.Zip;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ZipPuzzleParserBenchmark {
+
+    @Param({"6", "8", "20"})
+    private int size;
+
+    @Param({"42"})
+    private long seed;
+
+    private final ZipPuzzleParser zipPuzzleParser = new ZipPuzzleParser();
+
+    private String html;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        html = ZipPuzzleGenerator.toHtml(new ZipPuzzleGenerator(seed).generate(size, size, ZipPuzzleGenerator.Difficulty.MEDIUM));
+    }
+
+    @Benchmark
+    public ZipPuzzle parse() {
+        return zipPuzzleParser.parse(html);
+    }
+}
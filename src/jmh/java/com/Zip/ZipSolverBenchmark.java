@@ -0,0 +1,82 @@
+package com.Zip;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ZipSolverBenchmark {
+
+    // Stands in for the browser playback so only the search itself is measured
+    private static final IntConsumer NO_OP_TRACE = event -> {
+    };
+
+    @Param({"6", "8"})
+    private int size;
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    private ZipPuzzleGenerator.Difficulty difficulty;
+
+    @Param({"42"})
+    private long seed;
+
+    private ZipPuzzle generated;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        generated = new ZipPuzzleGenerator(seed).generate(size, size, difficulty);
+    }
+
+    @Benchmark
+    public List<Integer[]> getSolution() {
+        return freshPuzzle().getSolution();
+    }
+
+    @Benchmark
+    public List<Integer[]> getIterativeSolution() {
+        return freshPuzzle().getIterativeSolution();
+    }
+
+    @Benchmark
+    public List<Integer[]> getSegmentSolution() {
+        return freshPuzzle().getSegmentSolution();
+    }
+
+    @Benchmark
+    public List<Integer[]> getEdgeSolution() {
+        return freshPuzzle().getEdgeSolution();
+    }
+
+    @Benchmark
+    public List<Integer[]> getParallelSolution() {
+        return freshPuzzle().getParallelSolution();
+    }
+
+    @Benchmark
+    public void visualizeSingleThreaded() {
+        freshPuzzle().visualizeSolution(NO_OP_TRACE, false);
+    }
+
+    @Benchmark
+    public void visualizeMultiThreaded() {
+        freshPuzzle().visualizeSolution(NO_OP_TRACE, true);
+    }
+
+    // A new instance per call so the reachability cache never carries over between invocations
+    private ZipPuzzle freshPuzzle() {
+        return new ZipPuzzle(generated.getBoard(), generated.getBannedMoves(),
+                generated.getNodeLocations(), generated.getMaxNode());
+    }
+}
@@ -0,0 +1,34 @@
+package com.Sudoku;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class SudokuBatchReport {
+
+    private final long boards;
+
+    private final long solved;
+
+    private final long elapsedNanos;
+
+    // Per-board solve latency percentiles, in microseconds
+    private final double p50Micros;
+
+    private final double p90Micros;
+
+    private final double p99Micros;
+
+    private final double maxMicros;
+
+    public double getBoardsPerSecond() {
+        return elapsedNanos == 0 ? 0 : boards * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d boards (%d solved) in %.2f s, %.0f boards/s, latency p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus",
+                boards, solved, elapsedNanos / 1e9, getBoardsPerSecond(), p50Micros, p90Micros, p99Micros, maxMicros);
+    }
+}
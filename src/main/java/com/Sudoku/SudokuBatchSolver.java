@@ -0,0 +1,142 @@
+package com.Sudoku;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Streams boards in the common one-line format (N*N characters, digits then letters for values
+// above 9, '0' or '.' for blanks, anything after a comma ignored; other lines are skipped) and
+// writes one line back per board: the solved grid, or the SudokuSolveResult status when there is
+// no solution. Boards are read and written in fixed-size chunks, each chunk solved in parallel,
+// and latencies go into a fixed-size histogram, so memory stays bounded and output order matches
+// input order. Close it to shut down its worker pool.
+public class SudokuBatchSolver implements AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final ForkJoinPool pool;
+
+    private final int chunkSize;
+
+    public SudokuBatchSolver(final int parallelism, final int chunkSize) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: SudokuBatchSolver <puzzles-in> <solutions-out>");
+            System.exit(2);
+        }
+        try (SudokuBatchSolver solver = new SudokuBatchSolver(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE)) {
+            System.out.println(solver.solve(Path.of(args[0]), Path.of(args[1])));
+        }
+    }
+
+    public SudokuBatchReport solve(final Path input, final Path output) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.US_ASCII);
+             BufferedWriter out = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            return solve(in, out);
+        }
+    }
+
+    public SudokuBatchReport solve(final BufferedReader in, final Writer out) throws IOException {
+        final long start = System.nanoTime();
+        final List<String> chunk = new ArrayList<>(chunkSize);
+        final LatencyHistogram latencies = new LatencyHistogram();
+        long boards = 0;
+        long solved = 0;
+        String line;
+        while (true) {
+            chunk.clear();
+            while (chunk.size() < chunkSize && (line = in.readLine()) != null) {
+                final String board = boardOf(line);
+                if (board != null) {
+                    chunk.add(board);
+                }
+            }
+            if (chunk.isEmpty()) {
+                break;
+            }
+            final SolvedLine[] results = new SolvedLine[chunk.size()];
+            pool.submit(() -> IntStream.range(0, results.length).parallel().forEach(i -> {
+                final long boardStart = System.nanoTime();
+                results[i] = solveLine(chunk.get(i));
+                latencies.record(System.nanoTime() - boardStart);
+            })).join();
+            for (SolvedLine result : results) {
+                if (result.solved()) {
+                    solved++;
+                }
+                out.write(result.text());
+                out.write('\n');
+            }
+            boards += results.length;
+        }
+        out.flush();
+        final long elapsed = System.nanoTime() - start;
+
+        return new SudokuBatchReport(boards, solved, elapsed,
+                latencies.percentile(0.50) / 1_000.0, latencies.percentile(0.90) / 1_000.0,
+                latencies.percentile(0.99) / 1_000.0, latencies.percentile(1.0) / 1_000.0);
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    static SolvedLine solveLine(final String line) {
+        final int size = (int) Math.round(Math.sqrt(line.length()));
+        final int[][] board = new int[size][size];
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            board[i / size][i % size] = c == '.' ? 0 : Character.digit(c, 36);
+        }
+        final SudokuSolveResult result;
+        try {
+            result = new SudokuPuzzle(board).solve();
+        } catch (RuntimeException e) {
+            return new SolvedLine(SudokuSolveResult.Status.UNSOLVABLE.name(), false);
+        }
+        if (!result.isSolved()) {
+            return new SolvedLine(result.getStatus().name(), false);
+        }
+        final char[] solution = new char[line.length()];
+        for (int i = 0; i < solution.length; i++) {
+            solution[i] = Character.toUpperCase(Character.forDigit(board[i / size][i % size], 36));
+        }
+        return new SolvedLine(new String(solution), true);
+    }
+
+    // Strips trailing columns (e.g. "puzzle,solution" CSVs); blank, comment and header lines yield null
+    private static String boardOf(final String line) {
+        final int comma = line.indexOf(',');
+        final String board = (comma < 0 ? line : line.substring(0, comma)).trim();
+        if (board.isEmpty() || board.charAt(0) == '#') {
+            return null;
+        }
+        final int size = (int) Math.round(Math.sqrt(board.length()));
+        if (size < 2 || size * size != board.length()) {
+            return null;
+        }
+        for (int i = 0; i < board.length(); i++) {
+            final char c = board.charAt(i);
+            if (c != '.' && (Character.digit(c, 36) < 0 || Character.digit(c, 36) > size)) {
+                return null;
+            }
+        }
+        return board;
+    }
+
+    record SolvedLine(String text, boolean solved) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.Sudoku;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Precomputed index tables for an N x N sudoku. Cells are numbered row * N + col; units are the
+// N rows, then the N columns, then the N blocks. Blocks are as close to square as N allows with
+// fewer rows than columns, so 4 -> 2x2, 6 -> 2x3, 9 -> 3x3 and 16 -> 4x4.
+@Getter
+public class SudokuGeometry {
+
+    private static final Map<Integer, SudokuGeometry> GEOMETRIES = new ConcurrentHashMap<>();
+
+    private final int size;
+
+    private final int blockRows;
+
+    private final int blockCols;
+
+    private final int cellCount;
+
+    // units[u] lists the cells of unit u
+    private final int[][] units;
+
+    // unitsOfCell[cell] is {row unit, column unit, block unit}
+    private final int[][] unitsOfCell;
+
+    // peers[cell] lists every other cell sharing a row, column or block with cell
+    private final int[][] peers;
+
+    // Bits 1..size set, one per value
+    private final int allValues;
+
+    private SudokuGeometry(final int size) {
+        this.size = size;
+        int rows = (int) Math.sqrt(size);
+        while (size % rows != 0) {
+            rows--;
+        }
+        this.blockRows = rows;
+        this.blockCols = size / rows;
+        this.cellCount = size * size;
+        this.allValues = ((1 << (size + 1)) - 1) & ~1;
+
+        this.units = new int[3 * size][size];
+        this.unitsOfCell = new int[cellCount][3];
+        final int[] filled = new int[3 * size];
+        for (int cell = 0; cell < cellCount; cell++) {
+            final int row = cell / size;
+            final int col = cell % size;
+            final int block = (row / blockRows) * (size / blockCols) + col / blockCols;
+            unitsOfCell[cell] = new int[]{row, size + col, 2 * size + block};
+            for (int unit : unitsOfCell[cell]) {
+                units[unit][filled[unit]++] = cell;
+            }
+        }
+
+        this.peers = new int[cellCount][];
+        final boolean[] isPeer = new boolean[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int count = 0;
+            for (int unit : unitsOfCell[cell]) {
+                for (int other : units[unit]) {
+                    if (other != cell && !isPeer[other]) {
+                        isPeer[other] = true;
+                        count++;
+                    }
+                }
+            }
+            peers[cell] = new int[count];
+            int i = 0;
+            for (int other = 0; other < cellCount; other++) {
+                if (isPeer[other]) {
+                    peers[cell][i++] = other;
+                    isPeer[other] = false;
+                }
+            }
+        }
+    }
+
+    public static SudokuGeometry of(final int size) {
+        if (size < 1 || size > 30) {
+            throw new IllegalArgumentException("Unsupported sudoku size: " + size);
+        }
+        return GEOMETRIES.computeIfAbsent(size, SudokuGeometry::new);
+    }
+
+    public int row(final int cell) {
+        return cell / size;
+    }
+
+    public int col(final int cell) {
+        return cell % size;
+    }
+}
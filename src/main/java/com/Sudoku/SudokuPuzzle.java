@@ -1,175 +1,336 @@
 package com.Sudoku;
 
+import com.Utils.BoardLayout;
+import com.Utils.Fingerprints;
+import com.Utils.SolutionCache;
 import lombok.Getter;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
-@Getter
 public class SudokuPuzzle {
 
+    @Getter
     private final int[][] board;
 
-    private final HashMap<String, Set<Integer>> possibleValuesGrid = new HashMap<>();
+    @Getter
+    private final SudokuGeometry geometry;
 
-    private final static Integer[][] firstQuadrant = {{0,0}, {0,1}, {0,2}, {1,0}, {1,1}, {1,2}};
-    private final static Integer[][] secondQuadrant = {{0,3}, {0,4}, {0,5}, {1,3}, {1,4}, {1,5}};
-    private final static Integer[][] thirdQuadrant = {{2,0}, {2,1}, {2,2}, {3,0}, {3,1}, {3,2}};
-    private final static Integer[][] fourthQuadrant = {{2,3}, {2,4}, {2,5}, {3,3}, {3,4}, {3,5}};
-    private final static Integer[][] fifthQuadrant = {{4,0}, {4,1}, {4,2}, {5,0}, {5,1}, {5,2}};
-    private final static Integer[][] sixthQuadrant = {{4,3}, {4,4}, {4,5}, {5,3}, {5,4}, {5,5}};
+    // One bitmask per cell (row * size + col); bit v is set while v is still possible there
+    @Getter
+    private final int[] possibleValues;
 
+    // valueCounts[unit * (size + 1) + v] is how many empty cells of the unit can still take v
+    private final int[] valueCounts;
+
+    // Values already placed in each unit
+    private final int[] placedInUnit;
+
+    // Worklists: empty cells down to one candidate, and units whose value counts changed
+    private final int[] cellQueue;
+    private final boolean[] cellQueued;
+    private final int[] unitQueue;
+    private final boolean[] unitQueued;
+    private int cellQueueSize;
+    private int unitQueueSize;
+
+    private boolean contradiction;
+
+    // Placements made by propagation, by rule
+    private int nakedSingles;
+    private int hiddenSingles;
 
     public SudokuPuzzle(final int[][] board) {
+        if (board.length == 0 || board.length != board[0].length) {
+            throw new RuntimeException("Sudoku board must be square");
+        }
         this.board = board;
-        for (int row = 0; row < this.board.length; row++) {
-            for (int col = 0; col < this.board[row].length; col++) {
-                if (this.board[row][col] == 0) {
-                    updatePossibleValues(row, col);
-                } else {
-                    possibleValuesGrid.put(row + "," + col, new HashSet<>(Set.of(this.board[row][col])));
+        this.geometry = SudokuGeometry.of(board.length);
+        final int cellCount = geometry.getCellCount();
+        final int unitCount = geometry.getUnits().length;
+        this.possibleValues = new int[cellCount];
+        this.valueCounts = new int[unitCount * (geometry.getSize() + 1)];
+        this.placedInUnit = new int[unitCount];
+        this.cellQueue = new int[cellCount];
+        this.cellQueued = new boolean[cellCount];
+        this.unitQueue = new int[unitCount];
+        this.unitQueued = new boolean[unitCount];
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (valueAt(cell) != 0) {
+                possibleValues[cell] = 1 << valueAt(cell);
+                for (int unit : geometry.getUnitsOfCell()[cell]) {
+                    placedInUnit[unit] |= 1 << valueAt(cell);
                 }
             }
         }
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (valueAt(cell) == 0) {
+                initPossibleValues(cell);
+            }
+        }
     }
 
-    public void solve() {
-        solve(null);
-    }
-
-    public void solve(Consumer<int[]> onCellVisited) {
-        boolean isSolved;
-        do {
-            isSolved = true;
-            for (int row = 0; row < board.length; row++) {
-                for (int col = 0; col < board[row].length; col++) {
-                    if (board[row][col] != 0) {
-                        if (onCellVisited != null) {
-                            onCellVisited.accept(new int[]{row, col, 0});
-                        }
-                        continue;
-                    }
-                    final Set<Integer> possibleValues = updatePossibleValues(row, col);
-                    if (possibleValues.size() == 1) {
-                        submitCell(row, col, possibleValues.stream().findFirst().get(), onCellVisited);
-                        continue;
-                    }
-
-                    final Set<Integer> remainingPossibleInRow = getRemainingPossibleInRow(row, col);
-                    if (remainingPossibleInRow.size() == 1) {
-                        submitCell(row, col, remainingPossibleInRow.stream().findFirst().get(), onCellVisited);
-                        continue;
-                    }
-
-                    final Set<Integer> remainingPossibleInCol = getRemainingPossibleInCol(row, col);
-                    if (remainingPossibleInCol.size() == 1) {
-                        submitCell(row, col, remainingPossibleInCol.stream().findFirst().get(), onCellVisited);
-                        continue;
-                    }
-
-                    final Set<Integer> remainingPossibleInBlock = getRemainingPossibleInBlock(row, col);
-                    if (remainingPossibleInBlock.size() == 1) {
-                        submitCell(row, col, remainingPossibleInBlock.stream().findFirst().get(), onCellVisited);
-                        continue;
-                    }
-
-                    isSolved = false;
-                    if (onCellVisited != null) {
-                        onCellVisited.accept(new int[]{row, col, 0});
-                    }
-                }
-            }
-        } while (!isSolved);
+    public SudokuSolveResult solve() {
+        return solve(null);
+    }
+
+    // trace receives SudokuTraceEvents as the solver makes them; keep it cheap, it runs inline
+    public SudokuSolveResult solve(final IntConsumer trace) {
+        return solve(trace, SudokuSearch.DEFAULT_NODE_LIMIT);
     }
 
-    private Set<Integer> updatePossibleValues(int row, int col) {
+    // Same as solve(), but a board that has been solved before is filled in from the cache. Only
+    // uniquely solved boards are cached.
+    public SudokuSolveResult solveCached(final SolutionCache cache) {
+        return solveCached(cache, this::solve);
+    }
 
-        final Set<Integer> values = new HashSet<>(Set.of(1, 2, 3, 4, 5, 6));
-        for (int i = 0; i < board.length; i++) {
-            if (board[i][col] != 0) {
-                values.remove(board[i][col]);
+    // solver fills this puzzle's board on a cache miss, e.g. one of the SudokuSolverEngines
+    public SudokuSolveResult solveCached(final SolutionCache cache, final Supplier<SudokuSolveResult> solver) {
+        final String fingerprint = fingerprint();
+        final int[] cached = cache.get(fingerprint);
+        if (cached != null && cached.length == geometry.getCellCount()) {
+            for (int cell = 0; cell < cached.length; cell++) {
+                board[geometry.row(cell)][geometry.col(cell)] = cached[cell];
+                possibleValues[cell] = 1 << cached[cell];
             }
+            return new SudokuSolveResult(SudokuSolveResult.Status.SOLVED, 0, 0, 0, 0);
         }
-        for (int i = 0; i < board[row].length; i++) {
-            if (board[row][i] != 0) {
-                values.remove(board[row][i]);
+        final SudokuSolveResult result = solver.get();
+        if (result.getStatus() == SudokuSolveResult.Status.SOLVED) {
+            cache.put(fingerprint, toCells());
+        }
+        return result;
+    }
+
+    // Plain backtracking from the givens, skipping propagation
+    public SudokuSolveResult solveBySearch() {
+        return searchRemaining(null, 0, SudokuSearch.DEFAULT_NODE_LIMIT);
+    }
+
+    // The board as it stands now, so take it before solving; sudoku boards have no walls
+    public BoardLayout toLayout() {
+        return new BoardLayout(geometry.getSize(), geometry.getSize(), toCells(), new int[geometry.getCellCount()]);
+    }
+
+    // Flat row-major copy of the board, the SolutionCache encoding of a solved sudoku
+    public int[] toCells() {
+        final int[] cells = new int[geometry.getCellCount()];
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = valueAt(cell);
+        }
+        return cells;
+    }
+
+    // Fingerprint of the board as it stands now, so take it before solving
+    public String fingerprint() {
+        final int[] data = new int[geometry.getCellCount() + 1];
+        data[0] = geometry.getSize();
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            data[cell + 1] = valueAt(cell);
+        }
+        return Fingerprints.of("sudoku", data);
+    }
+
+    // Event-driven singles propagation: placing a value strips it from the peers and only the cells
+    // and units that changed are re-examined. When the worklists run dry with cells still empty, a
+    // bounded search finishes the board and classifies it, so every call ends with a definite status.
+    public SudokuSolveResult solve(final IntConsumer trace, final long searchNodeLimit) {
+        for (int unit = 0; unit < unitQueue.length; unit++) {
+            enqueueUnit(unit);
+        }
+        int steps = 0;
+        while (!contradiction && (cellQueueSize > 0 || unitQueueSize > 0)) {
+            steps++;
+            if (cellQueueSize > 0) {
+                final int cell = cellQueue[--cellQueueSize];
+                cellQueued[cell] = false;
+                if (valueAt(cell) == 0) {
+                    emit(SudokuTraceEvents.VISIT, cell, 0, trace);
+                    nakedSingles++;
+                    submitCell(cell, Integer.numberOfTrailingZeros(possibleValues[cell]), trace);
+                }
+                continue;
             }
+            final int unit = unitQueue[--unitQueueSize];
+            unitQueued[unit] = false;
+            findHiddenSingles(unit, trace);
         }
-        final Integer[][] blockCoords = getBlockCoords(row, col);
-        for (Integer[] coord : blockCoords) {
-            if (board[coord[0]][coord[1]] != 0) {
-                values.remove(board[coord[0]][coord[1]]);
+        if (contradiction) {
+            return new SudokuSolveResult(SudokuSolveResult.Status.UNSOLVABLE, steps, 0, nakedSingles, hiddenSingles);
+        }
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            if (valueAt(cell) == 0) {
+                return searchRemaining(trace, steps, searchNodeLimit);
             }
         }
-        possibleValuesGrid.put(row + "," + col, values);
-        return values;
+        final SudokuSolveResult.Status status = hasConflicts() ? SudokuSolveResult.Status.UNSOLVABLE : SudokuSolveResult.Status.SOLVED;
+        return new SudokuSolveResult(status, steps, 0, nakedSingles, hiddenSingles);
     }
 
-    private Set<Integer> getRemainingPossibleInCol(int row, int col) {
-        final Set<Integer> values = new HashSet<>(Set.of(1, 2, 3, 4, 5, 6));
-        for (int i = 0; i < board.length; i++) {
-            if (i != row) {
-                values.removeAll(possibleValuesGrid.get(i + "," + col));
+    // A value with a single remaining cell in the unit has to go there
+    private void findHiddenSingles(final int unit, final IntConsumer trace) {
+        final int stride = geometry.getSize() + 1;
+        for (int value = 1; value <= geometry.getSize() && !contradiction; value++) {
+            if ((placedInUnit[unit] & (1 << value)) != 0) {
+                continue;
+            }
+            if (valueCounts[unit * stride + value] == 0) {
+                contradiction = true;
+                return;
+            }
+            if (valueCounts[unit * stride + value] > 1) {
+                continue;
+            }
+            for (int cell : geometry.getUnits()[unit]) {
+                if (valueAt(cell) == 0 && (possibleValues[cell] & (1 << value)) != 0) {
+                    emit(SudokuTraceEvents.VISIT, cell, 0, trace);
+                    hiddenSingles++;
+                    submitCell(cell, value, trace);
+                    break;
+                }
             }
         }
-        return values;
     }
 
-    private Set<Integer> getRemainingPossibleInRow(int row, int col) {
-        final Set<Integer> values = new HashSet<>(Set.of(1, 2, 3, 4, 5, 6));
-        for (int i = 0; i < board[row].length; i++) {
-            if (i != col) {
-                values.removeAll(possibleValuesGrid.get(row + "," + i));
+    private SudokuSolveResult searchRemaining(final IntConsumer trace,
+                                             final int steps,
+                                             final long searchNodeLimit) {
+        final int[] cells = new int[geometry.getCellCount()];
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = valueAt(cell);
+        }
+        final SudokuSearch search = new SudokuSearch(geometry, searchNodeLimit);
+        final SudokuSolveResult.Status status = search.search(cells);
+        if (search.getFirstSolution() != null) {
+            final int[] solution = search.getFirstSolution();
+            for (int cell = 0; cell < solution.length; cell++) {
+                if (cells[cell] == 0) {
+                    board[geometry.row(cell)][geometry.col(cell)] = solution[cell];
+                    possibleValues[cell] = 1 << solution[cell];
+                    emit(SudokuTraceEvents.PLACE, cell, solution[cell], trace);
+                }
             }
         }
-        return values;
+        return new SudokuSolveResult(status, steps, search.getNodes(), nakedSingles, hiddenSingles);
     }
 
-    private Set<Integer> getRemainingPossibleInBlock(int row, int col) {
-        final Set<Integer> values = new HashSet<>(Set.of(1, 2, 3, 4, 5, 6));
-        final Integer[][] blockCoords = getBlockCoords(row, col);
-        for (Integer[] coord : blockCoords) {
-            if (coord[0] == row && coord[1] == col) {
-                continue;
+    // A filled board can still be wrong when the givens themselves repeat a value in some unit
+    private boolean hasConflicts() {
+        for (int[] unit : geometry.getUnits()) {
+            int seen = 0;
+            for (int cell : unit) {
+                final int bit = 1 << valueAt(cell);
+                if ((seen & bit) != 0) {
+                    return true;
+                }
+                seen |= bit;
             }
-            values.removeAll(possibleValuesGrid.get(coord[0] + "," + coord[1]));
         }
-        return values;
+        return false;
     }
 
-    private void submitCell(int row, int col, int value, Consumer<int[]> onCellVisited) {
-        board[row][col] = value;
-        possibleValuesGrid.put(row + "," + col, Set.of(value));
-        if (onCellVisited != null) {
-            onCellVisited.accept(new int[]{row, col, board[row][col]});
+    private void initPossibleValues(final int cell) {
+        final int[] units = geometry.getUnitsOfCell()[cell];
+        final int values = geometry.getAllValues() & ~(placedInUnit[units[0]] | placedInUnit[units[1]] | placedInUnit[units[2]]);
+        possibleValues[cell] = values;
+        final int stride = geometry.getSize() + 1;
+        for (int remaining = values; remaining != 0; remaining &= remaining - 1) {
+            final int value = Integer.numberOfTrailingZeros(remaining);
+            for (int unit : units) {
+                valueCounts[unit * stride + value]++;
+            }
+        }
+        if (values == 0) {
+            contradiction = true;
+        } else if (Integer.bitCount(values) == 1) {
+            enqueueCell(cell);
         }
     }
 
-    private Integer[][] getBlockCoords(int row, int col) {
-        if (row < 2) {
-            if (col < 3) {
-                return firstQuadrant;
-            } else {
-                return secondQuadrant;
-            }
-        } else if (row < 4) {
-            if (col < 3) {
-                return thirdQuadrant;
-            } else {
-                return fourthQuadrant;
+    private void submitCell(final int cell, final int value, final IntConsumer trace) {
+        if ((possibleValues[cell] & (1 << value)) == 0) {
+            contradiction = true;
+            return;
+        }
+        final int stride = geometry.getSize() + 1;
+        final int[] units = geometry.getUnitsOfCell()[cell];
+        for (int unit : units) {
+            placedInUnit[unit] |= 1 << value;
+        }
+        // The cell stops counting towards every value it could have taken
+        for (int remaining = possibleValues[cell]; remaining != 0; remaining &= remaining - 1) {
+            final int candidate = Integer.numberOfTrailingZeros(remaining);
+            for (int unit : units) {
+                valueCounts[unit * stride + candidate]--;
+                if (candidate != value) {
+                    onCountChanged(unit, candidate);
+                }
             }
-        } else {
-            if (col < 3) {
-                return fifthQuadrant;
-            } else {
-                return sixthQuadrant;
+        }
+        board[geometry.row(cell)][geometry.col(cell)] = value;
+        possibleValues[cell] = 1 << value;
+        emit(SudokuTraceEvents.PLACE, cell, value, trace);
+
+        for (int peer : geometry.getPeers()[cell]) {
+            if (valueAt(peer) == 0 && (possibleValues[peer] & (1 << value)) != 0) {
+                eliminate(peer, value);
+                emit(SudokuTraceEvents.ELIMINATE, peer, value, trace);
             }
         }
     }
 
+    private void eliminate(final int cell, final int value) {
+        possibleValues[cell] &= ~(1 << value);
+        final int stride = geometry.getSize() + 1;
+        for (int unit : geometry.getUnitsOfCell()[cell]) {
+            valueCounts[unit * stride + value]--;
+            onCountChanged(unit, value);
+        }
+        final int remaining = Integer.bitCount(possibleValues[cell]);
+        if (remaining == 0) {
+            contradiction = true;
+        } else if (remaining == 1) {
+            enqueueCell(cell);
+        }
+    }
+
+    private void onCountChanged(final int unit, final int value) {
+        if ((placedInUnit[unit] & (1 << value)) != 0) {
+            return;
+        }
+        final int count = valueCounts[unit * (geometry.getSize() + 1) + value];
+        if (count == 0) {
+            contradiction = true;
+        } else if (count == 1) {
+            enqueueUnit(unit);
+        }
+    }
+
+    private void enqueueCell(final int cell) {
+        if (!cellQueued[cell]) {
+            cellQueued[cell] = true;
+            cellQueue[cellQueueSize++] = cell;
+        }
+    }
+
+    private void enqueueUnit(final int unit) {
+        if (!unitQueued[unit]) {
+            unitQueued[unit] = true;
+            unitQueue[unitQueueSize++] = unit;
+        }
+    }
+
+    private static void emit(final int kind, final int cell, final int value, final IntConsumer trace) {
+        if (trace != null) {
+            trace.accept(SudokuTraceEvents.encode(kind, cell, value));
+        }
+    }
 
+    private int valueAt(final int cell) {
+        return board[geometry.row(cell)][geometry.col(cell)];
+    }
 
     @Override
     public String toString() {
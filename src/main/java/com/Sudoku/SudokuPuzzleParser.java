@@ -1,38 +1,27 @@
 package com.Sudoku;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import com.Utils.BoardLayout;
+import com.Utils.BoardScanner;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class SudokuPuzzleParser {
 
-    public int[][] parse(String html) {
-        Document document = Jsoup.parse(html);
-        Element grid = document.selectFirst(".sudoku-grid.grid-game-board");
-        if (grid == null) {
-            throw new RuntimeException("Could not find sudoku-grid in HTML");
-        }
+    // Only prefilled cells carry givens; anything else in a cell is the player's own input
+    private static final BoardScanner SCANNER = new BoardScanner(
+            List.of("sudoku-grid", "grid-game-board"), "sudoku-cell", "sudoku-cell-content", "sudoku-cell-prefilled", null);
 
-        int rows = Integer.parseInt(grid.attr("style").replaceAll(".*--rows:\\s*(\\d+).*", "$1"));
-        int cols = Integer.parseInt(grid.attr("style").replaceAll(".*--cols:\\s*(\\d+).*", "$1"));
+    public int[][] parse(String html) {
+        BoardLayout layout = SCANNER.scan(html);
+        int rows = layout.getRows();
+        int cols = layout.getCols();
 
         int[][] board = new int[rows][cols];
-
-        Elements cells = grid.select(".sudoku-cell");
-        for (Element cell : cells) {
-            int idx = Integer.parseInt(cell.attr("data-cell-idx"));
-            int row = idx / cols;
-            int col = idx % cols;
-
-            Element content = cell.selectFirst(".sudoku-cell-content");
-            if (content != null && cell.hasClass("sudoku-cell-prefilled")) {
-                String text = content.text().trim();
-                if (!text.isEmpty()) {
-                    board[row][col] = Integer.parseInt(text);
-                }
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                board[row][col] = layout.value(row, col);
             }
         }
 
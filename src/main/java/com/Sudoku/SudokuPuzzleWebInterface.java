@@ -1,139 +1,168 @@
 package com.Sudoku;
 
+import com.Utils.BoardLayout;
+import com.Utils.BrowserPool;
+import com.Utils.GamePage;
+import com.Utils.KeyPlayback;
+import com.Utils.KeySequence;
+import com.Utils.PhaseTimings;
+import com.Utils.PuzzlePages;
+import com.Utils.PuzzleArchive;
+import com.Utils.PuzzleTask;
 import com.Utils.PuzzleType;
+import com.Utils.ReplayControl;
+import com.Utils.SolutionCache;
+import com.Utils.SolverEngines;
+import com.Utils.SolverMetrics;
+import com.Utils.TraceBuffer;
+import com.Utils.TraceReplay;
 import lombok.AllArgsConstructor;
-import org.openqa.selenium.By;
+import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-import java.util.function.BiConsumer;
 
+@Slf4j
 @Component
 @AllArgsConstructor
 public class SudokuPuzzleWebInterface {
 
-    private static final String URL = PuzzleType.SUDOKU.getUrl();
-    private static final int SIZE = 6;
+    // TABs that reach the start button when it cannot be clicked directly
+    private static final int LANDING_PAGE_TABS = 6;
 
     private final SudokuPuzzleParser sudokuPuzzleParser;
 
-    public void withPuzzle(BiConsumer<SudokuPuzzle, Actions> task) {
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--no-sandbox", "--start-maximized");
-        WebDriver driver = new ChromeDriver(options);
-        try {
-            driver.get(URL);
+    private final BrowserPool browserPool;
 
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(100));
+    private final PuzzlePages puzzlePages;
 
-            // Switch into the game iframe
-            wait.until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(
-                    By.cssSelector("iframe.game-launch-page__iframe")));
+    private final KeyPlayback keyPlayback;
 
-            // Wait for the sudoku grid to render
-            WebElement board = wait.until(
-                    ExpectedConditions.presenceOfElementLocated(By.cssSelector(".grid-game-board")));
+    private final GamePage gamePage;
 
-            // Parse the puzzle from the live board
-            String html = board.getAttribute("outerHTML");
-            int[][] puzzle = sudokuPuzzleParser.parse(html);
-            final SudokuPuzzle sudokuPuzzle = new SudokuPuzzle(puzzle);
+    private final SolutionCache solutionCache;
 
-            // Use Actions to send keys directly to the browser
-            Actions actions = new Actions(driver);
+    private final SolverMetrics solverMetrics;
 
-            // Press Tab then Enter to get past the landing page and start the puzzle
-            actions.sendKeys(Keys.TAB, Keys.TAB, Keys.TAB, Keys.TAB, Keys.TAB, Keys.TAB).perform();
-            actions.sendKeys(Keys.ENTER).perform();
+    private final ReplayControl replayControl;
 
-            task.accept(sudokuPuzzle, actions);
+    private final SudokuSolverEngines sudokuSolverEngines;
 
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    private final PuzzleArchive puzzleArchive;
+
+    public void withPuzzle(PuzzleTask<SudokuPuzzle> task) {
+        PhaseTimings timings = new PhaseTimings();
+        BoardLayout givens = null;
+        String fingerprint = null;
+        int[] solution = null;
+        try (BrowserPool.Lease lease = browserPool.lease()) {
+            try {
+                WebDriver driver = lease.getDriver();
+                timings.mark("driverStart");
+
+                // Navigate, switch into the game iframe and wait for the sudoku grid to render
+                WebElement board = gamePage.open(driver, puzzlePages.urlFor(PuzzleType.SUDOKU), timings);
+
+                // Parse the puzzle from the live board
+                String html = board.getAttribute("outerHTML");
+                int[][] puzzle = sudokuPuzzleParser.parse(html);
+                final SudokuPuzzle sudokuPuzzle = new SudokuPuzzle(puzzle);
+                givens = sudokuPuzzle.toLayout();
+                fingerprint = sudokuPuzzle.fingerprint();
+                timings.mark("parse");
+
+                // Use Actions to send keys directly to the browser
+                Actions actions = new Actions(driver);
+
+                // Get past the landing page and start the puzzle
+                gamePage.start(driver, actions, LANDING_PAGE_TABS, timings);
+
+                solution = task.run(sudokuPuzzle, actions, timings);
+
+                if (!gamePage.awaitCompletion(driver, timings)) {
+                    solverMetrics.increment("sudoku.completion.missing", 1);
+                    log.warn("Sudoku completion banner did not appear");
+                }
+                log.info("Sudoku timings: {}", timings);
+            } catch (RuntimeException e) {
+                // A session that failed mid-task is quit and replaced, not handed to the next solve
+                lease.invalidateIfBrowserFailed(e);
+                throw e;
+            }
         } finally {
-            driver.quit();
+            solverMetrics.recordPhases("sudoku.phase", timings);
+            if (givens != null) {
+                puzzleArchive.append(PuzzleType.SUDOKU, fingerprint, givens, solution, timings);
+            }
         }
     }
 
     public void fetchAndSubmit() {
-        withPuzzle((sudokuPuzzle, actions) -> {
-            sudokuPuzzle.solve();
-            int[][] solution = sudokuPuzzle.getBoard();
-
-            // Press right arrow to highlight the top-left cell
-            actions.sendKeys(Keys.ARROW_RIGHT).perform();
-
-            for (int row = 0; row < SIZE; row++) {
-                for (int col = 0; col < SIZE; col++) {
-                    // Enter the solution value for every cell
-                    actions.sendKeys(String.valueOf(solution[row][col])).perform();
-
-                    // Navigate to next cell (right), except at end of row
-                    if (col < SIZE - 1) {
-                        actions.sendKeys(Keys.ARROW_RIGHT).perform();
-                    }
-                }
-                // Move down to next row and back to the left edge
-                if (row < SIZE - 1) {
-                    actions.sendKeys(Keys.ARROW_DOWN).perform();
-                    for (int i = 0; i < SIZE - 1; i++) {
-                        actions.sendKeys(Keys.ARROW_LEFT).perform();
-                    }
-                }
+        withPuzzle((sudokuPuzzle, actions, timings) -> {
+            final int[][] givens = copyOf(sudokuPuzzle.getBoard());
+            final SudokuSolveResult result = sudokuPuzzle.solveCached(solutionCache,
+                    () -> sudokuSolverEngines.solve(sudokuPuzzle, SolverEngines.AUTO));
+            result.reportTo(solverMetrics);
+            timings.mark("solve");
+            if (!result.isSolved()) {
+                throw new RuntimeException("Sudoku could not be solved: " + result);
             }
+
+            // Type only the empty cells, in one chained action
+            keyPlayback.play(actions, compileKeys(givens, sudokuPuzzle.getBoard()));
+            timings.mark("playback");
+            return sudokuPuzzle.toCells();
         });
     }
 
-    public void visualizeAlgorithm() {
-        withPuzzle((sudokuPuzzle, actions) -> {
-            // Press right arrow to highlight the top-left cell
-            actions.sendKeys(Keys.ARROW_RIGHT).perform();
-
-            final int[] currentPos = {0, 0};
-            final boolean[][] filled = new boolean[SIZE][SIZE];
-
-            sudokuPuzzle.solve(cell -> {
-                int targetRow = cell[0];
-                int targetCol = cell[1];
-                int value = cell[2];
-
-                // Navigate from current position to the target cell
-                int rowDiff = targetRow - currentPos[0];
-                int colDiff = targetCol - currentPos[1];
-
-                Keys verticalKey = rowDiff > 0 ? Keys.ARROW_DOWN : Keys.ARROW_UP;
-                for (int i = 0; i < Math.abs(rowDiff); i++) {
-                    actions.sendKeys(verticalKey).perform();
-                }
-
-                Keys horizontalKey = colDiff > 0 ? Keys.ARROW_RIGHT : Keys.ARROW_LEFT;
-                for (int i = 0; i < Math.abs(colDiff); i++) {
-                    actions.sendKeys(horizontalKey).perform();
+    // Visits the empty cells row by row, alternating direction each row so the cursor never has
+    // to travel back to the left edge
+    static KeySequence compileKeys(int[][] givens, int[][] solution) {
+        final int size = solution.length;
+        final KeySequence keys = new KeySequence();
+
+        // Press right arrow to highlight the top-left cell
+        keys.add(Keys.ARROW_RIGHT);
+        int currentRow = 0;
+        int currentCol = 0;
+        for (int row = 0; row < size; row++) {
+            for (int i = 0; i < size; i++) {
+                final int col = row % 2 == 0 ? i : size - 1 - i;
+                if (givens[row][col] != 0) {
+                    continue;
                 }
+                keys.moveCursor(row - currentRow, col - currentCol);
+                keys.add(String.valueOf(solution[row][col]));
+                currentRow = row;
+                currentCol = col;
+            }
+        }
+        return keys;
+    }
 
-                // Only type the value if this cell was newly solved
-                if (value != 0 && !filled[targetRow][targetCol]) {
-                    actions.sendKeys(String.valueOf(value)).perform();
-                    filled[targetRow][targetCol] = true;
-                }
+    private static int[][] copyOf(int[][] board) {
+        final int[][] copy = new int[board.length][];
+        for (int row = 0; row < board.length; row++) {
+            copy[row] = board[row].clone();
+        }
+        return copy;
+    }
 
-                currentPos[0] = targetRow;
-                currentPos[1] = targetCol;
-                try {
-                    Thread.sleep(300);
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
-            });
+    public void visualizeAlgorithm() {
+        withPuzzle((sudokuPuzzle, actions, timings) -> {
+            // The solver records its moves into a ring buffer and finishes at full speed; a separate
+            // player replays them into the browser at the replay speed
+            TraceBuffer buffer = new TraceBuffer(TraceBuffer.DEFAULT_CAPACITY);
+            SudokuTracePlayer player = new SudokuTracePlayer(sudokuPuzzle.getGeometry(), buffer, keys -> keyPlayback.play(actions, keys), replayControl);
+            replayControl.beginReplay();
+            final SudokuSolveResult[] result = new SudokuSolveResult[1];
+            TraceReplay.run(buffer, player, () -> result[0] = sudokuPuzzle.solve(buffer), timings);
+            result[0].reportTo(solverMetrics);
+            log.info("Replayed {} keys, skipped {} eliminations", player.getKeysSent(), player.getEliminations());
+            return result[0].isSolved() ? sudokuPuzzle.toCells() : null;
         });
     }
 }
@@ -0,0 +1,117 @@
+package com.Sudoku;
+
+import lombok.Getter;
+
+// Backtracking search over candidate bitmasks that always branches on the most constrained empty
+// cell. It stops after the second solution, so it can tell unique, ambiguous and unsolvable boards
+// apart, and gives up after nodeLimit nodes so a pathological board cannot run unbounded.
+public class SudokuSearch {
+
+    public static final long DEFAULT_NODE_LIMIT = 10_000_000L;
+
+    private final SudokuGeometry geometry;
+
+    private final long nodeLimit;
+
+    private final int[] values;
+
+    // Values already used by each unit (rows, then columns, then blocks)
+    private final int[] unitUsed;
+
+    @Getter
+    private int[] firstSolution;
+
+    @Getter
+    private long nodes;
+
+    private int solutions;
+
+    public SudokuSearch(final SudokuGeometry geometry, final long nodeLimit) {
+        this.geometry = geometry;
+        this.nodeLimit = nodeLimit;
+        this.values = new int[geometry.getCellCount()];
+        this.unitUsed = new int[geometry.getUnits().length];
+    }
+
+    public SudokuSolveResult.Status search(final int[] cells) {
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] != 0 && !place(cell, cells[cell])) {
+                return SudokuSolveResult.Status.UNSOLVABLE;
+            }
+        }
+        final boolean completed = backtrack();
+        if (!completed) {
+            return SudokuSolveResult.Status.NODE_LIMIT_EXCEEDED;
+        }
+        if (solutions == 0) {
+            return SudokuSolveResult.Status.UNSOLVABLE;
+        }
+        return solutions == 1 ? SudokuSolveResult.Status.SOLVED : SudokuSolveResult.Status.MULTIPLE_SOLUTIONS;
+    }
+
+    // Returns false only when the node limit cut the search short
+    private boolean backtrack() {
+        if (++nodes > nodeLimit) {
+            return false;
+        }
+        int bestCell = -1;
+        int bestCandidates = 0;
+        int bestCount = Integer.MAX_VALUE;
+        for (int cell = 0; cell < values.length; cell++) {
+            if (values[cell] != 0) {
+                continue;
+            }
+            final int candidates = candidates(cell);
+            final int count = Integer.bitCount(candidates);
+            if (count < bestCount) {
+                bestCell = cell;
+                bestCandidates = candidates;
+                bestCount = count;
+                if (count <= 1) {
+                    break;
+                }
+            }
+        }
+        if (bestCell == -1) {
+            if (++solutions == 1) {
+                firstSolution = values.clone();
+            }
+            return true;
+        }
+        int remaining = bestCandidates;
+        while (remaining != 0 && solutions < 2) {
+            final int value = Integer.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            place(bestCell, value);
+            final boolean completed = backtrack();
+            unplace(bestCell, value);
+            if (!completed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int candidates(final int cell) {
+        final int[] units = geometry.getUnitsOfCell()[cell];
+        return geometry.getAllValues() & ~(unitUsed[units[0]] | unitUsed[units[1]] | unitUsed[units[2]]);
+    }
+
+    private boolean place(final int cell, final int value) {
+        final int bit = 1 << value;
+        boolean consistent = true;
+        for (int unit : geometry.getUnitsOfCell()[cell]) {
+            consistent &= (unitUsed[unit] & bit) == 0;
+            unitUsed[unit] |= bit;
+        }
+        values[cell] = value;
+        return consistent;
+    }
+
+    private void unplace(final int cell, final int value) {
+        for (int unit : geometry.getUnitsOfCell()[cell]) {
+            unitUsed[unit] &= ~(1 << value);
+        }
+        values[cell] = 0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.Sudoku;
+
+import com.Utils.SolverMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class SudokuSolveResult {
+
+    public enum Status {
+        SOLVED,
+        UNSOLVABLE,
+        // The board holds the first solution found; a second one proves it is not unique
+        MULTIPLE_SOLUTIONS,
+        NODE_LIMIT_EXCEEDED
+    }
+
+    private final Status status;
+
+    // Worklist items (single-candidate cells and changed units) processed by propagation
+    private final int propagationSteps;
+
+    // Search nodes expanded after propagation stalled, 0 when singles were enough
+    private final long searchNodes;
+
+    // Cells placed by propagation because they had one candidate left, or were the only place
+    // left for a value in some unit
+    private final int nakedSingles;
+
+    private final int hiddenSingles;
+
+    public boolean isSolved() {
+        return status == Status.SOLVED || status == Status.MULTIPLE_SOLUTIONS;
+    }
+
+    public void reportTo(SolverMetrics metrics) {
+        metrics.increment("sudoku.solves", 1);
+        metrics.increment("sudoku.status." + status.name().toLowerCase(), 1);
+        metrics.increment("sudoku.propagationSteps", propagationSteps);
+        metrics.increment("sudoku.nakedSingles", nakedSingles);
+        metrics.increment("sudoku.hiddenSingles", hiddenSingles);
+        metrics.increment("sudoku.searchNodes", searchNodes);
+    }
+
+    @Override
+    public String toString() {
+        return status + " (propagationSteps=" + propagationSteps + ", nakedSingles=" + nakedSingles
+                + ", hiddenSingles=" + hiddenSingles + ", searchNodes=" + searchNodes + ")";
+    }
+}
@@ -0,0 +1,105 @@
+package com.Sudoku;
+
+import com.Utils.SolutionCache;
+import com.Utils.SolveGate;
+import com.Utils.SolverMetrics;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+
+// Solves sudoku boards over HTTP, either from a JSON grid or from the board HTML of the game page
+@RestController
+@RequestMapping("/api/sudoku")
+@AllArgsConstructor
+public class SudokuSolverController {
+
+    private final SudokuPuzzleParser sudokuPuzzleParser;
+
+    private final SolveGate solveGate;
+
+    private final SolutionCache solutionCache;
+
+    private final SolverMetrics solverMetrics;
+
+    private final SudokuSolverEngines sudokuSolverEngines;
+
+    // board is N x N with 0 for empty cells
+    public record SolveRequest(int[][] board) {
+    }
+
+    public record SolveResponse(int[][] solution, SudokuSolveResult.Status status, long searchNodes, long elapsedMicros) {
+    }
+
+    @PostMapping(path = "/solve", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public SolveResponse solve(@RequestBody SolveRequest request,
+                               @RequestParam(required = false) Long deadlineMillis,
+                               @RequestParam(required = false) String engine) {
+        return solveGate.run(deadlineMillis, () -> solve(request.board(), engine));
+    }
+
+    @PostMapping(path = "/solve", consumes = {MediaType.TEXT_HTML_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public SolveResponse solveHtml(@RequestBody String html,
+                                   @RequestParam(required = false) Long deadlineMillis,
+                                   @RequestParam(required = false) String engine) {
+        return solveGate.run(deadlineMillis, () -> {
+            final int[][] board;
+            try {
+                board = sudokuPuzzleParser.parse(html);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+            return solve(board, engine);
+        });
+    }
+
+    // engine names one of the SudokuSolverEngines; null or "auto" lets the cost model choose
+    private SolveResponse solve(int[][] board, String engine) {
+        validate(board);
+        final long start = System.nanoTime();
+        final SudokuPuzzle puzzle;
+        try {
+            puzzle = new SudokuPuzzle(board);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        final SudokuSolveResult result;
+        try {
+            result = puzzle.solveCached(solutionCache, () -> sudokuSolverEngines.solve(puzzle, engine));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        final long elapsed = System.nanoTime() - start;
+        solverMetrics.record("sudoku.api.solve", elapsed);
+        result.reportTo(solverMetrics);
+        if (!result.isSolved()) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_CONTENT, "Sudoku could not be solved: " + result);
+        }
+        return new SolveResponse(puzzle.getBoard(), result.getStatus(), result.getSearchNodes(),
+                TimeUnit.NANOSECONDS.toMicros(elapsed));
+    }
+
+    private static void validate(int[][] board) {
+        if (board == null || board.length == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "board must be a non-empty grid");
+        }
+        final int size = board.length;
+        for (int[] row : board) {
+            if (row == null || row.length != size) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "board must be " + size + "x" + size);
+            }
+            for (int value : row) {
+                if (value < 0 || value > size) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cell values must be between 0 and " + size);
+                }
+            }
+        }
+    }
+}
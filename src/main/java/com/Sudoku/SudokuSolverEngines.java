@@ -0,0 +1,39 @@
+package com.Sudoku;
+
+import com.Utils.BoardFeatures;
+import com.Utils.PuzzleType;
+import com.Utils.SolverCostModel;
+import com.Utils.SolverEngine;
+import com.Utils.SolverEngines;
+import com.Utils.SolverMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Sudoku engines, both filling the puzzle's board in place:
+//  - propagate: singles propagation, falling back to search only when it stalls
+//  - search: most-constrained-cell backtracking from the givens, no propagation
+@Component
+public class SudokuSolverEngines extends SolverEngines<SudokuPuzzle, SudokuSolveResult> {
+
+    @Autowired
+    public SudokuSolverEngines(SolverCostModel costModel, SolverMetrics solverMetrics) {
+        super(PuzzleType.SUDOKU, List.of(
+                SolverEngine.of("propagate", SudokuPuzzle::solve),
+                SolverEngine.of("search", SudokuPuzzle::solveBySearch)
+        ), SudokuSolverEngines::features, costModel, solverMetrics);
+    }
+
+    static BoardFeatures features(SudokuPuzzle puzzle) {
+        int givens = 0;
+        for (int[] row : puzzle.getBoard()) {
+            for (int value : row) {
+                if (value != 0) {
+                    givens++;
+                }
+            }
+        }
+        return new BoardFeatures(puzzle.getGeometry().getCellCount(), givens, 0);
+    }
+}
@@ -0,0 +1,34 @@
+package com.Sudoku;
+
+// Solver trace events packed into one int each: cell in the high bits, then the value, then the
+// kind in the two low bits. Cells fit up to 30 x 30 and values up to 31.
+public final class SudokuTraceEvents {
+
+    // Propagation found a single for the cell and is about to fill it
+    public static final int VISIT = 0;
+
+    // A value was written into the cell
+    public static final int PLACE = 1;
+
+    // A candidate value was ruled out for the cell
+    public static final int ELIMINATE = 2;
+
+    private SudokuTraceEvents() {
+    }
+
+    public static int encode(final int kind, final int cell, final int value) {
+        return cell << 7 | value << 2 | kind;
+    }
+
+    public static int kind(final int event) {
+        return event & 3;
+    }
+
+    public static int value(final int event) {
+        return (event >>> 2) & 31;
+    }
+
+    public static int cell(final int event) {
+        return event >>> 7;
+    }
+}
@@ -0,0 +1,129 @@
+package com.Sudoku;
+
+import com.Utils.KeySequence;
+import com.Utils.ReplayControl;
+import com.Utils.ReplayPacer;
+import com.Utils.TraceBuffer;
+import org.openqa.selenium.Keys;
+
+import java.util.function.Consumer;
+
+// Replays a TraceBuffer of SudokuTraceEvents in the browser at the ReplayControl speed. Each visit
+// or placement is one step: the cursor takes the shortest arrow-key route to the cell and a
+// placement types the value. A visit immediately followed by the placement it announced is shown
+// as that placement alone. Eliminations have nothing to show on the board and are only counted.
+public class SudokuTracePlayer implements Runnable {
+
+    private static final int PENDING_CAPACITY = 1024;
+
+    private final SudokuGeometry geometry;
+
+    private final TraceBuffer buffer;
+
+    private final Consumer<KeySequence> output;
+
+    private final ReplayControl control;
+
+    // Events drained from the buffer but not yet shown, oldest first
+    private final int[] pending = new int[PENDING_CAPACITY];
+    private int pendingStart;
+    private int pendingEnd;
+
+    private final int[] scratch = new int[PENDING_CAPACITY];
+
+    private int cursorRow;
+    private int cursorCol;
+
+    private long keysSent;
+
+    private long eliminations;
+
+    public SudokuTracePlayer(final SudokuGeometry geometry,
+                             final TraceBuffer buffer,
+                             final Consumer<KeySequence> output,
+                             final ReplayControl control) {
+        this.geometry = geometry;
+        this.buffer = buffer;
+        this.output = output;
+        this.control = control;
+    }
+
+    public long getKeysSent() {
+        return keysSent;
+    }
+
+    public long getEliminations() {
+        return eliminations;
+    }
+
+    @Override
+    public void run() {
+        try {
+            // Press right arrow to highlight the top-left cell
+            send(new KeySequence().add(Keys.ARROW_RIGHT));
+            final ReplayPacer pacer = new ReplayPacer(control);
+            while (!buffer.isCancelled()) {
+                final boolean producerDone = buffer.isClosed();
+                fill();
+                if (producerDone && buffer.isEmpty() && pendingStart == pendingEnd) {
+                    return;
+                }
+                final int budget = pacer.nextBudget();
+                pacer.await(budget, play(budget));
+            }
+        } catch (RuntimeException e) {
+            buffer.cancel();
+            throw e;
+        }
+    }
+
+    private void fill() {
+        if (pendingStart > 0) {
+            System.arraycopy(pending, pendingStart, pending, 0, pendingEnd - pendingStart);
+            pendingEnd -= pendingStart;
+            pendingStart = 0;
+        }
+        final int count = buffer.drain(scratch, pending.length - pendingEnd);
+        System.arraycopy(scratch, 0, pending, pendingEnd, count);
+        pendingEnd += count;
+    }
+
+    // Shows up to budget steps as one chained key sequence and returns how many were shown
+    private int play(final int budget) {
+        final KeySequence keys = new KeySequence();
+        int played = 0;
+        while (played < budget && pendingStart < pendingEnd) {
+            final int event = pending[pendingStart++];
+            final int kind = SudokuTraceEvents.kind(event);
+            final int cell = SudokuTraceEvents.cell(event);
+            if (kind == SudokuTraceEvents.ELIMINATE) {
+                eliminations++;
+                continue;
+            }
+            if (kind == SudokuTraceEvents.VISIT && pendingStart < pendingEnd
+                    && SudokuTraceEvents.kind(pending[pendingStart]) == SudokuTraceEvents.PLACE
+                    && SudokuTraceEvents.cell(pending[pendingStart]) == cell) {
+                continue;
+            }
+            final int row = geometry.row(cell);
+            final int col = geometry.col(cell);
+            keys.moveCursor(row - cursorRow, col - cursorCol);
+            if (kind == SudokuTraceEvents.PLACE) {
+                keys.add(String.valueOf(SudokuTraceEvents.value(event)));
+            }
+            cursorRow = row;
+            cursorCol = col;
+            played++;
+        }
+        send(keys);
+        return played;
+    }
+
+    private void send(final KeySequence keys) {
+        // Nothing more reaches the browser once the replay is cancelled
+        if (keys.size() > 0 && !buffer.isCancelled()) {
+            output.accept(keys);
+            keysSent += keys.size();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.Utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+// One archived puzzle run: the board as scraped, the solution that was entered (in the puzzle
+// type's SolutionCache encoding, null when the run produced none) and the run's phase timings
+@AllArgsConstructor
+@Getter
+public class ArchiveRecord {
+
+    private final long timestampMillis;
+
+    private final PuzzleType puzzleType;
+
+    private final String fingerprint;
+
+    private final BoardLayout layout;
+
+    private final int[] solution;
+
+    private final Map<String, Long> phaseNanos;
+}
@@ -0,0 +1,29 @@
+package com.Utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Size and shape of a board as the solver cost model sees it
+@AllArgsConstructor
+@Getter
+public class BoardFeatures {
+
+    private final int cellCount;
+
+    // Zip checkpoints or sudoku givens
+    private final int clueCount;
+
+    // Edges between neighboring cells that are blocked
+    private final int wallCount;
+
+    // {1, log(cells), clues per cell, walls per cell}; the leading 1 is the fit's intercept
+    double[] vector() {
+        final double cells = Math.max(1, cellCount);
+        return new double[]{1, Math.log(cells), clueCount / cells, wallCount / cells};
+    }
+
+    @Override
+    public String toString() {
+        return "cells=" + cellCount + ", clues=" + clueCount + ", walls=" + wallCount;
+    }
+}
@@ -0,0 +1,33 @@
+package com.Utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Compact description of a scraped grid board. Cells are numbered row * cols + col; values[cell]
+// is the number shown in the cell (0 when empty) and walls[cell] is a mask of the WALL_* sides
+// the cell's markup draws a wall on.
+@AllArgsConstructor
+@Getter
+public class BoardLayout {
+
+    public static final int WALL_RIGHT = 1;
+    public static final int WALL_DOWN = 1 << 1;
+    public static final int WALL_LEFT = 1 << 2;
+    public static final int WALL_UP = 1 << 3;
+
+    private final int rows;
+
+    private final int cols;
+
+    private final int[] values;
+
+    private final int[] walls;
+
+    public int value(int row, int col) {
+        return values[row * cols + col];
+    }
+
+    public boolean hasWall(int row, int col, int side) {
+        return (walls[row * cols + col] & side) != 0;
+    }
+}
@@ -0,0 +1,338 @@
+package com.Utils;
+
+import java.util.List;
+import java.util.Set;
+
+// Single-pass tokenizer for the grid boards on the game pages. It walks the board's outerHTML once,
+// reading only the tags and attributes it needs, and never builds a DOM or runs a regex. Markup it
+// does not recognise is skipped, so extra attributes, SVG icons and comments cost nothing but the
+// scan. Scanners hold no per-parse state and can be shared between threads.
+public class BoardScanner {
+
+    private static final Set<String> VOID_ELEMENTS = Set.of(
+            "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "source", "track", "wbr");
+
+    private static final String WALL_MODIFIER = "--";
+
+    // Every one of these classes must be on the grid element
+    private final List<String> gridClasses;
+
+    private final String cellClass;
+
+    private final String contentClass;
+
+    // Cells lacking this class keep a value of 0; null accepts every cell
+    private final String valueCellClass;
+
+    // Walls are drawn as children with this class plus a --right/--down/--left/--top modifier;
+    // null when the board has no walls
+    private final String wallClass;
+
+    public BoardScanner(List<String> gridClasses, String cellClass, String contentClass, String valueCellClass, String wallClass) {
+        this.gridClasses = List.copyOf(gridClasses);
+        this.cellClass = cellClass;
+        this.contentClass = contentClass;
+        this.valueCellClass = valueCellClass;
+        this.wallClass = wallClass;
+    }
+
+    public BoardLayout scan(CharSequence html) {
+        final Tag tag = new Tag();
+        final int length = html.length();
+        int pos = 0;
+
+        // Find the grid and read its dimensions from the style attribute
+        int gridDepth = -1;
+        int depth = 0;
+        while (pos < length && gridDepth < 0) {
+            pos = nextTag(html, pos, tag);
+            if (tag.name == null) {
+                continue;
+            }
+            if (!tag.closing && hasAllClasses(tag.classes, gridClasses)) {
+                gridDepth = depth;
+            }
+            depth = depthAfter(tag, depth);
+        }
+        if (gridDepth < 0) {
+            throw new RuntimeException("Could not find " + String.join(".", gridClasses) + " in HTML");
+        }
+        final int rows = styleValue(tag.style, "--rows");
+        final int cols = styleValue(tag.style, "--cols");
+        final int[] values = new int[rows * cols];
+        final int[] walls = new int[rows * cols];
+
+        int cell = -1;
+        int cellDepth = -1;
+        boolean valueCell = false;
+        int nextCell = 0;
+        int contentDepth = -1;
+        int value = 0;
+        while (pos < length && depth > gridDepth) {
+            if (html.charAt(pos) != '<') {
+                // Text; only the digits inside a content element matter
+                while (pos < length && html.charAt(pos) != '<') {
+                    final char c = html.charAt(pos++);
+                    if (contentDepth >= 0 && c >= '0' && c <= '9') {
+                        value = value * 10 + (c - '0');
+                    }
+                }
+                continue;
+            }
+            pos = nextTag(html, pos, tag);
+            if (tag.name == null) {
+                continue;
+            }
+            if (tag.closing) {
+                depth--;
+                if (depth == contentDepth) {
+                    if (valueCell) {
+                        values[cell] = value;
+                    }
+                    contentDepth = -1;
+                    value = 0;
+                }
+                if (depth == cellDepth) {
+                    cellDepth = -1;
+                }
+                continue;
+            }
+            if (cellDepth < 0 && hasClass(tag.classes, cellClass)) {
+                cell = tag.cellIndex >= 0 ? tag.cellIndex : nextCell;
+                if (cell >= values.length) {
+                    throw new RuntimeException("Cell index " + cell + " is outside a " + rows + "x" + cols + " board");
+                }
+                nextCell = cell + 1;
+                cellDepth = depth;
+                valueCell = valueCellClass == null || hasClass(tag.classes, valueCellClass);
+            } else if (cellDepth >= 0 && contentDepth < 0 && hasClass(tag.classes, contentClass)) {
+                contentDepth = depth;
+                value = 0;
+            } else if (cellDepth >= 0 && wallClass != null && hasClass(tag.classes, wallClass)) {
+                walls[cell] |= wallSide(tag.classes);
+            }
+            depth = depthAfter(tag, depth);
+        }
+        return new BoardLayout(rows, cols, values, walls);
+    }
+
+    private int wallSide(String classes) {
+        if (hasClass(classes, wallClass + WALL_MODIFIER + "right")) return BoardLayout.WALL_RIGHT;
+        if (hasClass(classes, wallClass + WALL_MODIFIER + "down")) return BoardLayout.WALL_DOWN;
+        if (hasClass(classes, wallClass + WALL_MODIFIER + "left")) return BoardLayout.WALL_LEFT;
+        if (hasClass(classes, wallClass + WALL_MODIFIER + "top")) return BoardLayout.WALL_UP;
+        return 0;
+    }
+
+    private static int depthAfter(Tag tag, int depth) {
+        if (tag.closing) {
+            return depth - 1;
+        }
+        return tag.selfClosing || VOID_ELEMENTS.contains(tag.name) ? depth : depth + 1;
+    }
+
+    // Reads the markup construct starting at '<' into tag and returns the position after it.
+    // Comments, doctypes and processing instructions leave tag.name null.
+    private static int nextTag(CharSequence html, int pos, Tag tag) {
+        final int length = html.length();
+        tag.reset();
+        while (pos < length && html.charAt(pos) != '<') {
+            pos++;
+        }
+        if (pos >= length) {
+            return length;
+        }
+        pos++;
+        if (startsWith(html, pos, "!--")) {
+            final int end = indexOf(html, "-->", pos + 3);
+            return end < 0 ? length : end + 3;
+        }
+        if (pos < length && (html.charAt(pos) == '!' || html.charAt(pos) == '?')) {
+            final int end = indexOf(html, ">", pos);
+            return end < 0 ? length : end + 1;
+        }
+        if (pos < length && html.charAt(pos) == '/') {
+            tag.closing = true;
+            pos++;
+        }
+        final int nameStart = pos;
+        while (pos < length && isNameChar(html.charAt(pos))) {
+            pos++;
+        }
+        tag.name = html.subSequence(nameStart, pos).toString().toLowerCase();
+
+        while (pos < length) {
+            final char c = html.charAt(pos);
+            if (c == '>') {
+                return pos + 1;
+            }
+            if (c == '/') {
+                tag.selfClosing = true;
+                pos++;
+                continue;
+            }
+            if (!isNameChar(c)) {
+                pos++;
+                continue;
+            }
+            tag.selfClosing = false;
+            final int attrStart = pos;
+            while (pos < length && isNameChar(html.charAt(pos))) {
+                pos++;
+            }
+            final int attrEnd = pos;
+            while (pos < length && Character.isWhitespace(html.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= length || html.charAt(pos) != '=') {
+                continue;
+            }
+            pos++;
+            while (pos < length && Character.isWhitespace(html.charAt(pos))) {
+                pos++;
+            }
+            final int valueStart;
+            final int valueEnd;
+            if (pos < length && (html.charAt(pos) == '"' || html.charAt(pos) == '\'')) {
+                final char quote = html.charAt(pos);
+                valueStart = pos + 1;
+                int end = valueStart;
+                while (end < length && html.charAt(end) != quote) {
+                    end++;
+                }
+                valueEnd = end;
+                pos = Math.min(length, end + 1);
+            } else {
+                valueStart = pos;
+                while (pos < length && !Character.isWhitespace(html.charAt(pos)) && html.charAt(pos) != '>') {
+                    pos++;
+                }
+                valueEnd = pos;
+            }
+            tag.attribute(html, attrStart, attrEnd, valueStart, valueEnd);
+        }
+        return length;
+    }
+
+    // Reads the integer after "name:" in an inline style, e.g. --rows: 6
+    private static int styleValue(String style, String name) {
+        final int at = style == null ? -1 : style.indexOf(name);
+        if (at < 0) {
+            throw new RuntimeException("Grid style has no " + name + ": " + style);
+        }
+        int pos = at + name.length();
+        while (pos < style.length() && (style.charAt(pos) == ':' || Character.isWhitespace(style.charAt(pos)))) {
+            pos++;
+        }
+        final int start = pos;
+        int value = 0;
+        while (pos < style.length() && style.charAt(pos) >= '0' && style.charAt(pos) <= '9') {
+            value = value * 10 + (style.charAt(pos++) - '0');
+        }
+        if (pos == start) {
+            throw new RuntimeException("Grid style has no number for " + name + ": " + style);
+        }
+        return value;
+    }
+
+    private static boolean hasAllClasses(String classes, List<String> wanted) {
+        if (classes == null) {
+            return false;
+        }
+        for (String name : wanted) {
+            if (!hasClass(classes, name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Whole-token match within a class attribute, so "trail-cell" does not match "trail-cell-content"
+    private static boolean hasClass(String classes, String name) {
+        if (classes == null) {
+            return false;
+        }
+        int from = 0;
+        while (true) {
+            final int at = classes.indexOf(name, from);
+            if (at < 0) {
+                return false;
+            }
+            final int end = at + name.length();
+            if ((at == 0 || Character.isWhitespace(classes.charAt(at - 1)))
+                    && (end == classes.length() || Character.isWhitespace(classes.charAt(end)))) {
+                return true;
+            }
+            from = at + 1;
+        }
+    }
+
+    private static boolean isNameChar(char c) {
+        return c != '>' && c != '/' && c != '=' && c != '"' && c != '\'' && c != '<' && !Character.isWhitespace(c);
+    }
+
+    private static boolean startsWith(CharSequence html, int pos, String prefix) {
+        if (pos + prefix.length() > html.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (html.charAt(pos + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence html, String needle, int from) {
+        for (int i = from; i + needle.length() <= html.length(); i++) {
+            if (startsWith(html, i, needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Attributes of the tag under the cursor that the scanner cares about
+    private static final class Tag {
+
+        private String name;
+        private boolean closing;
+        private boolean selfClosing;
+        private String classes;
+        private String style;
+        private int cellIndex;
+
+        private void reset() {
+            name = null;
+            closing = false;
+            selfClosing = false;
+            classes = null;
+            style = null;
+            cellIndex = -1;
+        }
+
+        private void attribute(CharSequence html, int nameStart, int nameEnd, int valueStart, int valueEnd) {
+            if (matches(html, nameStart, nameEnd, "class")) {
+                classes = html.subSequence(valueStart, valueEnd).toString();
+            } else if (matches(html, nameStart, nameEnd, "style")) {
+                style = html.subSequence(valueStart, valueEnd).toString();
+            } else if (matches(html, nameStart, nameEnd, "data-cell-idx")) {
+                int index = 0;
+                for (int i = valueStart; i < valueEnd; i++) {
+                    final char c = html.charAt(i);
+                    if (c < '0' || c > '9') {
+                        return;
+                    }
+                    index = index * 10 + (c - '0');
+                }
+                if (valueEnd > valueStart) {
+                    cellIndex = index;
+                }
+            }
+        }
+
+        private static boolean matches(CharSequence html, int start, int end, String name) {
+            return end - start == name.length() && startsWith(html, start, name);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.Utils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Bounded pool of browser sessions shared by every puzzle web interface. Sessions are started
+// ahead of time, checked before each lease and reset when returned, so a solve only pays for
+// Chrome start-up when the pool has to replace a dead session or grow to its limit.
+@Slf4j
+@Component
+public class BrowserPool implements DisposableBean {
+
+    private final Supplier<WebDriver> driverFactory;
+
+    private final BlockingDeque<WebDriver> idle;
+
+    // One permit per leased session
+    private final Semaphore capacity;
+
+    private final int size;
+
+    private final long leaseTimeoutMillis;
+
+    // Starts the prewarmed sessions in the background; destroy() stops and awaits it
+    private Thread prewarmer;
+
+    private volatile boolean destroyed;
+
+    private final LongAdder prewarmFailures = new LongAdder();
+
+    @Autowired
+    public BrowserPool(@Value("${browser.pool.size:2}") int size,
+                       @Value("${browser.pool.prewarm:0}") int prewarm,
+                       @Value("${browser.pool.headless:true}") boolean headless,
+                       @Value("${browser.pool.lease-timeout-seconds:60}") long leaseTimeoutSeconds) {
+        this(() -> new ChromeDriver(chromeOptions(headless)), size, TimeUnit.SECONDS.toMillis(leaseTimeoutSeconds));
+        if (prewarm > 0) {
+            startPrewarm(Math.min(prewarm, size));
+        }
+    }
+
+    BrowserPool(Supplier<WebDriver> driverFactory, int size, long leaseTimeoutMillis) {
+        this.driverFactory = driverFactory;
+        this.idle = new LinkedBlockingDeque<>(size);
+        this.capacity = new Semaphore(size, true);
+        this.size = size;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+    }
+
+    public Lease lease() {
+        try {
+            if (!capacity.tryAcquire(leaseTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("No browser session became available within " + leaseTimeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser session", e);
+        }
+        try {
+            WebDriver driver;
+            while ((driver = idle.pollFirst()) != null) {
+                if (isHealthy(driver)) {
+                    return new Lease(driver);
+                }
+                quietlyQuit(driver);
+            }
+            return new Lease(driverFactory.get());
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public long getPrewarmFailures() {
+        return prewarmFailures.sum();
+    }
+
+    synchronized void startPrewarm(int sessions) {
+        prewarmer = Thread.ofVirtual().name("browser-pool-prewarm").start(() -> prewarm(sessions));
+    }
+
+    void prewarm(int sessions) {
+        for (int i = 0; i < sessions; i++) {
+            // Never start more sessions than leased plus idle can hold
+            if (destroyed || Thread.currentThread().isInterrupted()
+                    || idle.size() + size - capacity.availablePermits() >= size) {
+                return;
+            }
+            try {
+                final WebDriver driver = driverFactory.get();
+                // A session that finished starting after destroy() is nobody's to quit but ours
+                if (destroyed || !idle.offerLast(driver)) {
+                    quietlyQuit(driver);
+                }
+            } catch (RuntimeException e) {
+                prewarmFailures.increment();
+                log.warn("Browser pool prewarm failed: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        destroyed = true;
+        final Thread thread;
+        synchronized (this) {
+            thread = prewarmer;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            quietlyQuit(driver);
+        }
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static void quietlyQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException ignored) {
+            // Already gone
+        }
+    }
+
+    private static ChromeOptions chromeOptions(boolean headless) {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--no-sandbox");
+        if (headless) {
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+        } else {
+            options.addArguments("--start-maximized");
+        }
+        return options;
+    }
+
+    // A leased session; closing it hands the session back to the pool
+    public final class Lease implements AutoCloseable {
+
+        @Getter
+        private final WebDriver driver;
+
+        private boolean invalid;
+
+        private boolean closed;
+
+        private Lease(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        // Marks the session as unusable, e.g. after a crash mid-solve, so it is quit instead of reused
+        public void invalidate() {
+            invalid = true;
+        }
+
+        // Invalidates the session when the failure came from the browser, also when another
+        // thread (e.g. a trace player) hit it and the failure arrives wrapped
+        public void invalidateIfBrowserFailed(Throwable failure) {
+            for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+                if (cause instanceof WebDriverException) {
+                    invalidate();
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (invalid || !reset() || !idle.offerFirst(driver)) {
+                    quietlyQuit(driver);
+                }
+            } finally {
+                capacity.release();
+            }
+        }
+
+        private boolean reset() {
+            try {
+                driver.switchTo().defaultContent();
+                driver.get("about:blank");
+                return true;
+            } catch (WebDriverException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.Utils;
+
+// The machine's cores as worker slots shared fairly by concurrent solves. A solve's own thread is
+// always its own; on top of that each open SolveScope may borrow slots, never more than the total
+// and never more than its fair share (slots divided by the scopes currently open), so one solve
+// fanning out cannot crowd out the rest. A scope that gets no slot does the work on its own thread.
+public class CpuShare {
+
+    private static final CpuShare MACHINE = new CpuShare(Runtime.getRuntime().availableProcessors());
+
+    private final int slots;
+
+    private int slotsInUse;
+
+    private int openScopes;
+
+    public CpuShare(int slots) {
+        this.slots = slots;
+    }
+
+    // One share for the whole process, which is what makes it fair across requests
+    public static CpuShare machine() {
+        return MACHINE;
+    }
+
+    synchronized void open() {
+        openScopes++;
+    }
+
+    synchronized void close() {
+        openScopes--;
+    }
+
+    // Grants up to wanted more slots to a scope already holding held; 0 when none can be spared
+    synchronized int tryClaim(int held, int wanted) {
+        final int fairShare = slots / Math.max(1, openScopes);
+        final int granted = Math.max(0, Math.min(wanted, Math.min(slots - slotsInUse, fairShare - held)));
+        slotsInUse += granted;
+        return granted;
+    }
+
+    synchronized void release(int count) {
+        slotsInUse -= count;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public synchronized int getSlotsInUse() {
+        return slotsInUse;
+    }
+
+    public synchronized int getOpenScopes() {
+        return openScopes;
+    }
+}
@@ -0,0 +1,26 @@
+package com.Utils;
+
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// GET /api/engines: the solver engine names accepted by each puzzle type's ?engine= parameter
+@RestController
+@AllArgsConstructor
+public class EngineController {
+
+    private final List<SolverEngines<?, ?>> solverEngines;
+
+    @GetMapping("/api/engines")
+    public Map<PuzzleType, List<String>> engines() {
+        final Map<PuzzleType, List<String>> engines = new TreeMap<>();
+        for (SolverEngines<?, ?> registry : solverEngines) {
+            engines.put(registry.getPuzzleType(), registry.getNames());
+        }
+        return engines;
+    }
+}
@@ -0,0 +1,31 @@
+package com.Utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Canonical puzzle fingerprints: a kind prefix plus the SHA-256 of the puzzle's integer encoding.
+// Equal boards always produce the same fingerprint, whatever map or object they were parsed into.
+public final class Fingerprints {
+
+    private Fingerprints() {
+    }
+
+    public static String of(String kind, int[] data) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        final byte[] bytes = new byte[4];
+        for (int value : data) {
+            bytes[0] = (byte) (value >>> 24);
+            bytes[1] = (byte) (value >>> 16);
+            bytes[2] = (byte) (value >>> 8);
+            bytes[3] = (byte) value;
+            digest.update(bytes);
+        }
+        return kind + "-" + HexFormat.of().formatHex(digest.digest());
+    }
+}
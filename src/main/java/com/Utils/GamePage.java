@@ -0,0 +1,99 @@
+package com.Utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Readiness and completion signals for the LinkedIn game pages. Every wait polls a concrete DOM
+// condition at a tight interval with a short deadline, so a healthy run moves on the moment the
+// page is ready and a broken one gives its browser back within seconds.
+@Component
+public class GamePage {
+
+    private static final By GAME_IFRAME = By.cssSelector("iframe.game-launch-page__iframe");
+
+    private static final By BOARD = By.cssSelector(".grid-game-board");
+
+    private final Duration readyTimeout;
+
+    private final Duration startTimeout;
+
+    private final Duration completionTimeout;
+
+    private final Duration pollInterval;
+
+    private final By startButton;
+
+    private final By completionBanner;
+
+    public GamePage(@Value("${game.ready-timeout-millis:20000}") long readyTimeoutMillis,
+                    @Value("${game.start-timeout-millis:3000}") long startTimeoutMillis,
+                    @Value("${game.completion-timeout-millis:10000}") long completionTimeoutMillis,
+                    @Value("${game.poll-interval-millis:50}") long pollIntervalMillis,
+                    @Value("${game.start-button-selector:#launch-footer-start-button}") String startButtonSelector,
+                    @Value("${game.completion-selector:.pr-game-web__aux-content}") String completionSelector) {
+        this.readyTimeout = Duration.ofMillis(readyTimeoutMillis);
+        this.startTimeout = Duration.ofMillis(startTimeoutMillis);
+        this.completionTimeout = Duration.ofMillis(completionTimeoutMillis);
+        this.pollInterval = Duration.ofMillis(pollIntervalMillis);
+        this.startButton = By.cssSelector(startButtonSelector);
+        this.completionBanner = By.cssSelector(completionSelector);
+    }
+
+    // Navigates to the game, switches into its iframe and returns the board once it has rendered
+    public WebElement open(WebDriver driver, String url, PhaseTimings timings) {
+        driver.get(url);
+        timings.mark("pageLoad");
+
+        final WebDriverWait wait = waitFor(driver, readyTimeout);
+        wait.until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(GAME_IFRAME));
+        timings.mark("iframeReady");
+
+        final WebElement board = wait.until(ExpectedConditions.presenceOfElementLocated(BOARD));
+        timings.mark("boardReady");
+        return board;
+    }
+
+    // Clicks through the landing page, falling back to the old blind TAB + ENTER sequence when the
+    // start button cannot be found, and waits until the landing overlay has gone away
+    public void start(WebDriver driver, Actions actions, int fallbackTabs, PhaseTimings timings) {
+        try {
+            final WebElement button = waitFor(driver, startTimeout).until(ExpectedConditions.elementToBeClickable(startButton));
+            button.click();
+            waitFor(driver, startTimeout).until(ExpectedConditions.invisibilityOfElementLocated(startButton));
+        } catch (TimeoutException e) {
+            for (int i = 0; i < fallbackTabs; i++) {
+                actions.sendKeys(Keys.TAB);
+            }
+            actions.sendKeys(Keys.ENTER).perform();
+        }
+        timings.mark("start");
+    }
+
+    // True once the success banner shows up; false if it does not within the completion timeout
+    public boolean awaitCompletion(WebDriver driver, PhaseTimings timings) {
+        try {
+            waitFor(driver, completionTimeout).until(ExpectedConditions.presenceOfElementLocated(completionBanner));
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } finally {
+            timings.mark("completion");
+        }
+    }
+
+    private WebDriverWait waitFor(WebDriver driver, Duration timeout) {
+        final WebDriverWait wait = new WebDriverWait(driver, timeout);
+        wait.pollingEvery(pollInterval);
+        return wait;
+    }
+}
@@ -0,0 +1,33 @@
+package com.Utils;
+
+import org.openqa.selenium.interactions.Actions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Sends a whole KeySequence as one chained action, so the browser is reached once per solution
+// rather than once per keystroke. playback.pacing-millis inserts pauses between keys inside the
+// same chain for when the game needs time to animate.
+@Component
+public class KeyPlayback {
+
+    private final Duration pacing;
+
+    public KeyPlayback(@Value("${playback.pacing-millis:0}") long pacingMillis) {
+        this.pacing = Duration.ofMillis(pacingMillis);
+    }
+
+    public void play(Actions actions, KeySequence sequence) {
+        if (sequence.size() == 0) {
+            return;
+        }
+        for (CharSequence key : sequence.getKeys()) {
+            actions.sendKeys(key);
+            if (!pacing.isZero()) {
+                actions.pause(pacing);
+            }
+        }
+        actions.perform();
+    }
+}
@@ -0,0 +1,39 @@
+package com.Utils;
+
+import org.openqa.selenium.Keys;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Keystrokes compiled ahead of time so they can be sent to the browser in one round trip
+public class KeySequence {
+
+    private final List<CharSequence> keys = new ArrayList<>();
+
+    public KeySequence add(CharSequence key) {
+        keys.add(key);
+        return this;
+    }
+
+    // Shortest arrow-key route on a grid: vertical moves first, then horizontal
+    public KeySequence moveCursor(int rowDiff, int colDiff) {
+        final Keys vertical = rowDiff > 0 ? Keys.ARROW_DOWN : Keys.ARROW_UP;
+        for (int i = 0; i < Math.abs(rowDiff); i++) {
+            keys.add(vertical);
+        }
+        final Keys horizontal = colDiff > 0 ? Keys.ARROW_RIGHT : Keys.ARROW_LEFT;
+        for (int i = 0; i < Math.abs(colDiff); i++) {
+            keys.add(horizontal);
+        }
+        return this;
+    }
+
+    public List<CharSequence> getKeys() {
+        return Collections.unmodifiableList(keys);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.Utils;
+
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// GET /api/metrics: solver counters and phase timers, the current state of the shared pools and
+// the engine cost model fits
+@RestController
+@AllArgsConstructor
+public class MetricsController {
+
+    private final SolverMetrics solverMetrics;
+
+    private final SolutionCache solutionCache;
+
+    private final SolveGate solveGate;
+
+    private final BrowserPool browserPool;
+
+    private final SolverCostModel solverCostModel;
+
+    private final PuzzleArchive puzzleArchive;
+
+    @GetMapping("/api/metrics")
+    public Map<String, Object> metrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>(solverMetrics.snapshot());
+        metrics.put("solutionCache.entries", solutionCache.size());
+        metrics.put("solutionCache.hits", solutionCache.getHits());
+        metrics.put("solutionCache.diskHits", solutionCache.getDiskHits());
+        metrics.put("solutionCache.misses", solutionCache.getMisses());
+        metrics.put("solutionCache.evictions", solutionCache.getEvictions());
+        metrics.put("solutionCache.expirations", solutionCache.getExpirations());
+        metrics.put("solutionCache.diskErrors", solutionCache.getDiskErrors());
+        metrics.put("solveGate.availableSlots", solveGate.getAvailableSlots());
+        metrics.put("cpuShare.slotsInUse", CpuShare.machine().getSlotsInUse());
+        metrics.put("cpuShare.openScopes", CpuShare.machine().getOpenScopes());
+        metrics.put("browserPool.idle", browserPool.getIdleCount());
+        metrics.put("browserPool.prewarmFailures", browserPool.getPrewarmFailures());
+        metrics.put("archive.dropped", puzzleArchive.getDropped());
+        metrics.put("costModel", solverCostModel.snapshot());
+        return metrics;
+    }
+}
@@ -0,0 +1,35 @@
+package com.Utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Wall-clock time of consecutive phases of one run, in the order they were marked
+public class PhaseTimings {
+
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+
+    private long phaseStart = System.nanoTime();
+
+    // Ends the current phase under the given name and starts the next one
+    public void mark(String phase) {
+        final long now = System.nanoTime();
+        phaseNanos.merge(phase, now - phaseStart, Long::sum);
+        phaseStart = now;
+    }
+
+    public Map<String, Long> getPhaseNanos() {
+        return Collections.unmodifiableMap(phaseNanos);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> phase : phaseNanos.entrySet()) {
+            if (!sb.isEmpty()) sb.append(", ");
+            sb.append(phase.getKey()).append('=').append(TimeUnit.NANOSECONDS.toMillis(phase.getValue())).append("ms");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,422 @@
+package com.Utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+// Append-only binary log of every puzzle run, kept in archive.dir/puzzles.archive when archive.dir
+// is set. Records are written with a plain channel append and read back through a memory mapping
+// of the file, remapped as it grows. Opening the file scans it once to index record offsets by
+// fingerprint and by time; timestamps never go backwards, so date ranges are a binary search.
+// A record cut short by a crash runs past the end of the file (or is followed only by zeros) and is
+// truncated away on the next open by the writer. A damaged record inside the file is skipped by its
+// length and left in place, so it never costs the records after it; one whose length cannot be
+// trusted makes the open fail instead. openReadOnly() is for looking at a file another process may
+// be appending to: it never writes, and treats a record it cannot read yet as the end of the file.
+//
+// File: int magic, int version, then records of
+//   int length (of the rest of the record), long timestamp millis, byte puzzle type,
+//   short fingerprint length + UTF-8 bytes, short rows, short cols, short value per cell,
+//   byte BoardLayout wall mask per cell, int solution length (-1 for none) + short per entry,
+//   byte phase count + (short name length + UTF-8 bytes, long nanos) per phase, int CRC32
+// all big-endian. The mapping limits the file to 2 GB, several million runs; append() refuses
+// records beyond that.
+@Slf4j
+@Component
+public class PuzzleArchive implements DisposableBean {
+
+    static final String FILE_NAME = "puzzles.archive";
+
+    private static final int MAGIC = 0x4C505A41;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 8;
+
+    // Offsets are read through int-indexed buffers
+    private static final long MAX_BYTES = Integer.MAX_VALUE;
+
+    private final LongSupplier clock;
+
+    private final boolean readOnly;
+
+    private final FileChannel channel;
+
+    private MappedByteBuffer mapped;
+
+    // Bytes of complete records, including the header
+    private long size;
+
+    // Start of every record and its timestamp, in file order
+    private long[] offsets = new long[64];
+    private long[] timestamps = new long[64];
+    private int count;
+
+    private final Map<String, List<Integer>> recordsByFingerprint = new HashMap<>();
+
+    // Runs that could not be archived
+    private final LongAdder dropped = new LongAdder();
+
+    // Damaged records passed over when the file was opened
+    private int skipped;
+
+    @Autowired
+    public PuzzleArchive(@Value("${archive.dir:}") String directory) throws IOException {
+        this(directory.isBlank() ? null : Path.of(directory), System::currentTimeMillis);
+    }
+
+    // A null directory disables the archive: appends are dropped and lookups find nothing
+    PuzzleArchive(Path directory, LongSupplier clock) throws IOException {
+        this(directory, clock, false);
+    }
+
+    private PuzzleArchive(Path directory, LongSupplier clock, boolean readOnly) throws IOException {
+        this.clock = clock;
+        this.readOnly = readOnly;
+        if (directory == null) {
+            this.channel = null;
+            return;
+        }
+        if (readOnly) {
+            this.channel = FileChannel.open(directory.resolve(FILE_NAME), StandardOpenOption.READ);
+            index();
+            return;
+        }
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(directory.resolve(FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+            channel.write(header, 0);
+        }
+        this.size = HEADER_BYTES;
+        index();
+    }
+
+    // Lookups only, safe while the application is appending to the same file; appends are dropped
+    public static PuzzleArchive openReadOnly(Path directory) throws IOException {
+        return new PuzzleArchive(directory, System::currentTimeMillis, true);
+    }
+
+    public boolean isEnabled() {
+        return channel != null;
+    }
+
+    // Archives one run. Never throws: a run must not fail because its record could not be written.
+    public synchronized void append(PuzzleType puzzleType,
+                                    String fingerprint,
+                                    BoardLayout layout,
+                                    int[] solution,
+                                    PhaseTimings timings) {
+        if (channel == null) {
+            return;
+        }
+        if (readOnly) {
+            dropped.increment();
+            log.warn("Not archiving {}: the archive is open read-only", fingerprint);
+            return;
+        }
+        final long timestamp = Math.max(clock.getAsLong(), count == 0 ? 0 : timestamps[count - 1]);
+        final ByteBuffer record = encode(new ArchiveRecord(timestamp, puzzleType, fingerprint, layout, solution, timings.getPhaseNanos()));
+        if (size + record.remaining() > MAX_BYTES) {
+            dropped.increment();
+            log.warn("Not archiving {}: the archive has reached its 2 GB limit", fingerprint);
+            return;
+        }
+        try {
+            int written = 0;
+            while (record.hasRemaining()) {
+                written += channel.write(record, size + written);
+            }
+            add(size, timestamp, fingerprint);
+            size += written;
+        } catch (IOException e) {
+            dropped.increment();
+            log.warn("Could not archive {}: {}", fingerprint, e.getMessage());
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public synchronized int getSkipped() {
+        return skipped;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public synchronized ArchiveRecord get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return read(offsets[index]);
+    }
+
+    // Oldest first
+    public synchronized List<ArchiveRecord> findByFingerprint(String fingerprint) {
+        final List<ArchiveRecord> records = new ArrayList<>();
+        for (int index : recordsByFingerprint.getOrDefault(fingerprint, List.of())) {
+            records.add(read(offsets[index]));
+        }
+        return records;
+    }
+
+    // Runs from from (inclusive) to to (exclusive), oldest first
+    public synchronized List<ArchiveRecord> findBetween(Instant from, Instant to) {
+        final List<ArchiveRecord> records = new ArrayList<>();
+        for (int i = firstAtOrAfter(from.toEpochMilli()); i < count && timestamps[i] < to.toEpochMilli(); i++) {
+            records.add(read(offsets[i]));
+        }
+        return records;
+    }
+
+    public List<ArchiveRecord> findByDate(LocalDate date, ZoneId zone) {
+        return findBetween(date.atStartOfDay(zone).toInstant(), date.plusDays(1).atStartOfDay(zone).toInstant());
+    }
+
+    // Sequential scan over every record, oldest first
+    public synchronized void forEach(Consumer<ArchiveRecord> action) {
+        for (int i = 0; i < count; i++) {
+            action.accept(read(offsets[i]));
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    // Prints the archived runs, optionally only those of one day (yyyy-mm-dd, local time) or fingerprint
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: PuzzleArchive <archive-dir> [yyyy-mm-dd | fingerprint]");
+            System.exit(2);
+        }
+        final PuzzleArchive archive = openReadOnly(Path.of(args[0]));
+        final Consumer<ArchiveRecord> print = record -> System.out.println(Instant.ofEpochMilli(record.getTimestampMillis())
+                + "\t" + record.getPuzzleType() + "\t" + record.getFingerprint()
+                + "\t" + record.getLayout().getRows() + "x" + record.getLayout().getCols()
+                + "\t" + (record.getSolution() == null ? "unsolved" : "solved")
+                + "\t" + formatPhases(record.getPhaseNanos()));
+        if (args.length == 1) {
+            archive.forEach(print);
+        } else if (args[1].matches("\\d{4}-\\d{2}-\\d{2}")) {
+            archive.findByDate(LocalDate.parse(args[1]), ZoneId.systemDefault()).forEach(print);
+        } else {
+            archive.findByFingerprint(args[1]).forEach(print);
+        }
+        archive.destroy();
+    }
+
+    private static String formatPhases(Map<String, Long> phaseNanos) {
+        final StringBuilder sb = new StringBuilder();
+        phaseNanos.forEach((phase, nanos) -> {
+            if (!sb.isEmpty()) sb.append(", ");
+            sb.append(phase).append('=').append(TimeUnit.NANOSECONDS.toMillis(nanos)).append("ms");
+        });
+        return sb.toString();
+    }
+
+    // Builds the indexes from the file and, in the writer, cuts off a torn last record
+    private void index() throws IOException {
+        final long fileSize = channel.size();
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a puzzle archive (or an unsupported version)");
+        }
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        long offset = HEADER_BYTES;
+        while (offset < fileSize) {
+            final ArchiveRecord record = fileSize - offset >= Integer.BYTES ? tryRead(offset, fileSize) : null;
+            if (record != null) {
+                add(offset, record.getTimestampMillis(), record.getFingerprint());
+                offset += Integer.BYTES + mapped.getInt((int) offset);
+                continue;
+            }
+            final int length = fileSize - offset >= Integer.BYTES ? mapped.getInt((int) offset) : 0;
+            if (fileSize - offset < Integer.BYTES || offset + Integer.BYTES + length > fileSize
+                    || zerosToEnd(offset, fileSize)) {
+                // Read-only, this may just be a record the writer has not finished yet
+                if (!readOnly) {
+                    log.warn("Truncating torn archive record at byte {}", offset);
+                    channel.truncate(offset);
+                }
+                break;
+            }
+            if (length < Integer.BYTES) {
+                throw new IOException("Corrupt archive record length " + length + " at byte " + offset);
+            }
+            log.warn("Skipping damaged archive record at byte {}", offset);
+            skipped++;
+            offset += Integer.BYTES + length;
+        }
+        size = offset;
+    }
+
+    // What a crash leaves when the file grew but the data never reached the disk
+    private boolean zerosToEnd(long offset, long fileSize) {
+        for (long i = offset; i < fileSize; i++) {
+            if (mapped.get((int) i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(long offset, long timestamp, String fingerprint) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            timestamps = Arrays.copyOf(timestamps, count * 2);
+        }
+        offsets[count] = offset;
+        timestamps[count] = timestamp;
+        recordsByFingerprint.computeIfAbsent(fingerprint, k -> new ArrayList<>()).add(count);
+        count++;
+    }
+
+    private int firstAtOrAfter(long millis) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (timestamps[mid] < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private ArchiveRecord read(long offset) {
+        if (mapped.capacity() < size) {
+            try {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not map puzzle archive", e);
+            }
+        }
+        return tryRead(offset, size);
+    }
+
+    // Null when the record at offset is incomplete or fails its CRC
+    private ArchiveRecord tryRead(long offset, long limit) {
+        final int length = mapped.getInt((int) offset);
+        if (length < Integer.BYTES || offset + Integer.BYTES + length > limit) {
+            return null;
+        }
+        final ByteBuffer body = mapped.slice((int) offset + Integer.BYTES, length);
+        final CRC32 crc = new CRC32();
+        crc.update(body.slice(0, length - Integer.BYTES));
+        if ((int) crc.getValue() != body.getInt(length - Integer.BYTES)) {
+            return null;
+        }
+        final long timestamp = body.getLong();
+        final PuzzleType puzzleType = PuzzleType.values()[body.get()];
+        final String fingerprint = getString(body);
+        final int rows = body.getShort();
+        final int cols = body.getShort();
+        final int[] values = new int[rows * cols];
+        for (int cell = 0; cell < values.length; cell++) {
+            values[cell] = body.getShort();
+        }
+        final int[] walls = new int[rows * cols];
+        for (int cell = 0; cell < walls.length; cell++) {
+            walls[cell] = body.get();
+        }
+        final int solutionLength = body.getInt();
+        final int[] solution = solutionLength < 0 ? null : new int[solutionLength];
+        for (int i = 0; i < solutionLength; i++) {
+            solution[i] = body.getShort();
+        }
+        final int phases = body.get();
+        final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+        for (int i = 0; i < phases; i++) {
+            phaseNanos.put(getString(body), body.getLong());
+        }
+        return new ArchiveRecord(timestamp, puzzleType, fingerprint, new BoardLayout(rows, cols, values, walls), solution, phaseNanos);
+    }
+
+    private static ByteBuffer encode(ArchiveRecord record) {
+        final BoardLayout layout = record.getLayout();
+        final int cells = layout.getRows() * layout.getCols();
+        final byte[] fingerprint = record.getFingerprint().getBytes(StandardCharsets.UTF_8);
+        final int[] solution = record.getSolution();
+        final List<byte[]> phaseNames = new ArrayList<>();
+        for (String phase : record.getPhaseNanos().keySet()) {
+            phaseNames.add(phase.getBytes(StandardCharsets.UTF_8));
+        }
+        int length = Long.BYTES + 1 + Short.BYTES + fingerprint.length + 2 * Short.BYTES + cells * (Short.BYTES + 1)
+                + Integer.BYTES + (solution == null ? 0 : solution.length * Short.BYTES) + 1 + Integer.BYTES;
+        for (byte[] name : phaseNames) {
+            length += Short.BYTES + name.length + Long.BYTES;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length);
+        buffer.putInt(length);
+        buffer.putLong(record.getTimestampMillis());
+        buffer.put((byte) record.getPuzzleType().ordinal());
+        buffer.putShort((short) fingerprint.length).put(fingerprint);
+        buffer.putShort((short) layout.getRows()).putShort((short) layout.getCols());
+        for (int value : layout.getValues()) {
+            buffer.putShort((short) value);
+        }
+        for (int wall : layout.getWalls()) {
+            buffer.put((byte) wall);
+        }
+        buffer.putInt(solution == null ? -1 : solution.length);
+        if (solution != null) {
+            for (int value : solution) {
+                buffer.putShort((short) value);
+            }
+        }
+        buffer.put((byte) phaseNames.size());
+        int i = 0;
+        for (long nanos : record.getPhaseNanos().values()) {
+            final byte[] name = phaseNames.get(i++);
+            buffer.putShort((short) name.length).put(name).putLong(nanos);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.array(), Integer.BYTES, length - Integer.BYTES);
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
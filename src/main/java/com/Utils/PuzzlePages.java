@@ -0,0 +1,20 @@
+package com.Utils;
+
+import lombok.AllArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+// Resolves the game page for a puzzle type. Setting puzzle.<type>.url (e.g. puzzle.zip.url) points
+// the web interfaces at a locally served copy of the page instead of LinkedIn.
+@Component
+@AllArgsConstructor
+public class PuzzlePages {
+
+    private final Environment environment;
+
+    public String urlFor(PuzzleType type) {
+        return environment.getProperty("puzzle." + type.name().toLowerCase(Locale.ROOT) + ".url", type.getUrl());
+    }
+}
@@ -0,0 +1,12 @@
+package com.Utils;
+
+import org.openqa.selenium.interactions.Actions;
+
+// Work done on a live puzzle page once its board has been parsed. Implementations mark their own
+// phases (solve, playback, ...) on the run's timings and return the solution they entered, in the
+// puzzle type's SolutionCache encoding, or null when they have none to report.
+@FunctionalInterface
+public interface PuzzleTask<P> {
+
+    int[] run(P puzzle, Actions actions, PhaseTimings timings);
+}
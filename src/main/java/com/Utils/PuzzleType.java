@@ -6,6 +6,7 @@ import lombok.Getter;
 @AllArgsConstructor
 @Getter
 public enum PuzzleType {
+    // PuzzleArchive stores the ordinal, so add new types at the end
     ZIP("https://www.linkedin.com/games/zip/"),
     SUDOKU("https://www.linkedin.com/games/mini-sudoku/");
 
@@ -0,0 +1,40 @@
+package com.Utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Speed of the visualization replays, adjustable while one is running. Players read it every
+// tick, so a change takes effect within one frame. skipToEnd() flushes the replay in progress
+// straight to its final state; the next replay starts at normal speed again.
+@Component
+public class ReplayControl {
+
+    // 0 or less replays as fast as the browser accepts keys
+    private volatile double stepsPerSecond;
+
+    private volatile boolean skipping;
+
+    public ReplayControl(@Value("${visualization.steps-per-second:30}") double stepsPerSecond) {
+        this.stepsPerSecond = stepsPerSecond;
+    }
+
+    public double getStepsPerSecond() {
+        return stepsPerSecond;
+    }
+
+    public void setStepsPerSecond(double stepsPerSecond) {
+        this.stepsPerSecond = stepsPerSecond;
+    }
+
+    public boolean isSkipping() {
+        return skipping;
+    }
+
+    public void skipToEnd() {
+        skipping = true;
+    }
+
+    public void beginReplay() {
+        skipping = false;
+    }
+}
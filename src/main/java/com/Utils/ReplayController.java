@@ -0,0 +1,27 @@
+package com.Utils;
+
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// Speed up, slow down or finish a running visualization
+@RestController
+@RequestMapping("/api/visualization")
+@AllArgsConstructor
+public class ReplayController {
+
+    private final ReplayControl replayControl;
+
+    @PostMapping("/speed")
+    public double speed(@RequestParam double stepsPerSecond) {
+        replayControl.setStepsPerSecond(stepsPerSecond);
+        return replayControl.getStepsPerSecond();
+    }
+
+    @PostMapping("/skip")
+    public void skip() {
+        replayControl.skipToEnd();
+    }
+}
@@ -0,0 +1,45 @@
+package com.Utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Turns the ReplayControl speed into how many steps a replay player may show on each tick. Credit
+// builds up between ticks but is capped at one second's worth, so a slow browser round trip is
+// never followed by a burst. Skipping or a non-positive speed lifts the limit altogether.
+public class ReplayPacer {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final ReplayControl control;
+
+    private double credit;
+
+    private long last = System.nanoTime();
+
+    public ReplayPacer(final ReplayControl control) {
+        this.control = control;
+    }
+
+    public int nextBudget() {
+        final long now = System.nanoTime();
+        final double rate = control.getStepsPerSecond();
+        final int budget;
+        if (control.isSkipping() || rate <= 0) {
+            budget = Integer.MAX_VALUE;
+            credit = 0;
+        } else {
+            credit = Math.min(credit + rate * (now - last) / 1e9, Math.max(1, rate));
+            budget = (int) credit;
+            credit -= budget;
+        }
+        last = now;
+        return budget;
+    }
+
+    // Waits for the next tick, unless an unlimited budget is still making progress
+    public void await(final int budget, final int played) {
+        if (played == 0 || budget != Integer.MAX_VALUE) {
+            LockSupport.parkNanos(TICK_NANOS);
+        }
+    }
+}
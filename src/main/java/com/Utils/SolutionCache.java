@@ -0,0 +1,212 @@
+package com.Utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Solutions keyed by puzzle fingerprint (see Fingerprints), held in a bounded LRU whose entries
+// expire after a TTL. When solution.cache.dir is set, every solution is also written there as one
+// small file per fingerprint and read back on a memory miss, so restarts keep the day's answers.
+// Solutions are flat int arrays; each puzzle type decides its own encoding.
+@Slf4j
+@Component
+public class SolutionCache {
+
+    private static final String FILE_SUFFIX = ".solution";
+
+    private final Map<String, Entry> entries;
+
+    private final long ttlMillis;
+
+    private final Path directory;
+
+    private final LongSupplier clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+
+    // Entries dropped by the LRU bound and by the TTL, in memory or on disk
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    // Solution files that could not be read or written
+    private final LongAdder diskErrors = new LongAdder();
+
+    @Autowired
+    public SolutionCache(@Value("${solution.cache.max-entries:1024}") int maxEntries,
+                         @Value("${solution.cache.ttl-minutes:1440}") long ttlMinutes,
+                         @Value("${solution.cache.dir:}") String directory) {
+        this(maxEntries, TimeUnit.MINUTES.toMillis(ttlMinutes), directory.isBlank() ? null : Path.of(directory), System::currentTimeMillis);
+    }
+
+    SolutionCache(int maxEntries, long ttlMillis, Path directory, LongSupplier clock) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.ttlMillis = ttlMillis;
+        this.directory = directory;
+        this.clock = clock;
+    }
+
+    // Returns the cached solution, or solves, caches and returns it. A null solution (unsolvable)
+    // is passed through and never cached.
+    public int[] computeIfAbsent(String fingerprint, Supplier<int[]> solve) {
+        final int[] cached = get(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        final int[] solution = solve.get();
+        if (solution != null) {
+            put(fingerprint, solution);
+        }
+        return solution;
+    }
+
+    public int[] get(String fingerprint) {
+        final long now = clock.getAsLong();
+        boolean expired = false;
+        synchronized (entries) {
+            final Entry entry = entries.get(fingerprint);
+            if (entry != null && entry.expiresAt > now) {
+                hits.increment();
+                return entry.solution.clone();
+            }
+            if (entry != null) {
+                entries.remove(fingerprint);
+                expired = true;
+            }
+        }
+        final Entry stored = load(fingerprint, now);
+        if (stored == null || stored.expiresAt <= now) {
+            // One expiry even when the memory and disk copies ran out together
+            if (expired || stored != null) {
+                expirations.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        synchronized (entries) {
+            entries.put(fingerprint, stored);
+        }
+        diskHits.increment();
+        return stored.solution.clone();
+    }
+
+    public void put(String fingerprint, int[] solution) {
+        final long createdAt = clock.getAsLong();
+        final Entry entry = new Entry(solution.clone(), createdAt + ttlMillis);
+        synchronized (entries) {
+            entries.put(fingerprint, entry);
+        }
+        store(fingerprint, createdAt, entry.solution);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getDiskHits() {
+        return diskHits.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    public long getDiskErrors() {
+        return diskErrors.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "entries=" + size() + ", hits=" + getHits() + ", diskHits=" + getDiskHits() + ", misses=" + getMisses();
+    }
+
+    // File layout: creation time in epoch millis on the first line, comma-separated solution on the
+    // second. An expired file is deleted and its entry still returned, so the caller can count it.
+    private Entry load(String fingerprint, long now) {
+        if (directory == null) {
+            return null;
+        }
+        final Path file = directory.resolve(fingerprint + FILE_SUFFIX);
+        try {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            final String[] lines = Files.readString(file).split("\n");
+            final long expiresAt = Long.parseLong(lines[0].trim()) + ttlMillis;
+            if (expiresAt <= now) {
+                Files.deleteIfExists(file);
+                return new Entry(new int[0], expiresAt);
+            }
+            final int[] solution = lines.length < 2 || lines[1].isBlank()
+                    ? new int[0]
+                    : Arrays.stream(lines[1].trim().split(",")).mapToInt(Integer::parseInt).toArray();
+            return new Entry(solution, expiresAt);
+        } catch (IOException | RuntimeException e) {
+            diskErrors.increment();
+            log.warn("Ignoring unreadable cached solution {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String fingerprint, long createdAt, int[] solution) {
+        if (directory == null) {
+            return;
+        }
+        final StringBuilder sb = new StringBuilder().append(createdAt).append('\n');
+        for (int i = 0; i < solution.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(solution[i]);
+        }
+        sb.append('\n');
+        try {
+            Files.createDirectories(directory);
+            // Write then rename, so a concurrent reader never sees half a file
+            final Path temp = Files.createTempFile(directory, fingerprint, ".tmp");
+            Files.writeString(temp, sb);
+            Files.move(temp, directory.resolve(fingerprint + FILE_SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            diskErrors.increment();
+            log.warn("Could not persist solution {}: {}", fingerprint, e.getMessage());
+        }
+    }
+
+    private record Entry(int[] solution, long expiresAt) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.Utils;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Admission control for the REST solve endpoints. Each solve runs on its own virtual thread under
+// a deadline, and at most maxConcurrent solves run at once; a request that cannot get a slot in
+// time is turned away with 503 instead of queueing behind the others. A solve that misses its
+// deadline is interrupted and answered with 504, but keeps its slot until it has actually stopped
+// so runaway searches cannot pile up.
+@Component
+public class SolveGate implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Semaphore slots;
+
+    private final long queueTimeoutMillis;
+
+    private final long defaultDeadlineMillis;
+
+    private final long maxDeadlineMillis;
+
+    @Autowired
+    public SolveGate(@Value("${solver.api.max-concurrent:0}") int maxConcurrent,
+                     @Value("${solver.api.queue-timeout-millis:100}") long queueTimeoutMillis,
+                     @Value("${solver.api.deadline-millis:2000}") long defaultDeadlineMillis,
+                     @Value("${solver.api.max-deadline-millis:10000}") long maxDeadlineMillis) {
+        // 0 sizes the limit to the machine: solves are CPU-bound, so more would only share cores
+        this.slots = new Semaphore(maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors(), true);
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.defaultDeadlineMillis = defaultDeadlineMillis;
+        this.maxDeadlineMillis = maxDeadlineMillis;
+    }
+
+    // requestedDeadlineMillis may be null for the default; it is capped at the configured maximum
+    public <T> T run(Long requestedDeadlineMillis, Callable<T> solve) {
+        final long deadlineMillis = requestedDeadlineMillis == null || requestedDeadlineMillis <= 0
+                ? defaultDeadlineMillis
+                : Math.min(requestedDeadlineMillis, maxDeadlineMillis);
+        try {
+            if (!slots.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Solver is at capacity");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for a solver slot");
+        }
+
+        final Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                try {
+                    return solve.call();
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        try {
+            return future.get(deadlineMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "No solution within " + deadlineMillis + "ms");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while solving");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    public int getAvailableSlots() {
+        return slots.availablePermits();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
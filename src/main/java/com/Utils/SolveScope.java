@@ -0,0 +1,103 @@
+package com.Utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// The subtasks of one solve, structured the way StructuredTaskScope (still a preview API) would
+// structure them: they run on virtual threads owned by this scope, and close() interrupts whatever
+// is still running and waits for it, so no subtask outlives the solve that forked it. Each fork
+// needs a slot from the CpuShare; beyond the solve's fair share it runs inline on the forking
+// thread instead. Open one per solve, in try-with-resources, and fork from the opening thread.
+public class SolveScope implements AutoCloseable {
+
+    private final CpuShare cpuShare;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Slots held by running forks plus the ones claimed for the whole solve
+    private final AtomicInteger held = new AtomicInteger();
+
+    private int claimed;
+
+    private final LongAdder forked = new LongAdder();
+    private final LongAdder inline = new LongAdder();
+
+    private SolveScope(CpuShare cpuShare) {
+        this.cpuShare = cpuShare;
+        cpuShare.open();
+    }
+
+    public static SolveScope open() {
+        return open(CpuShare.machine());
+    }
+
+    public static SolveScope open(CpuShare cpuShare) {
+        return new SolveScope(cpuShare);
+    }
+
+    public <T> Future<T> fork(Callable<T> task) {
+        if (cpuShare.tryClaim(held.get(), 1) == 1) {
+            held.incrementAndGet();
+            final FutureTask<T> future = new FutureTask<>(task);
+            try {
+                // The slot is released by the thread even when the future is cancelled before it runs
+                executor.execute(() -> {
+                    try {
+                        future.run();
+                    } finally {
+                        held.decrementAndGet();
+                        cpuShare.release(1);
+                    }
+                });
+                forked.increment();
+                return future;
+            } catch (RejectedExecutionException e) {
+                held.decrementAndGet();
+                cpuShare.release(1);
+                throw e;
+            }
+        }
+        inline.increment();
+        final FutureTask<T> inlineFuture = new FutureTask<>(task);
+        inlineFuture.run();
+        return inlineFuture;
+    }
+
+    // Claims up to wanted slots until the scope closes, e.g. to size a worker pool; returns how
+    // many were granted
+    public int claim(int wanted) {
+        final int granted = cpuShare.tryClaim(held.get(), wanted);
+        held.addAndGet(granted);
+        claimed += granted;
+        return granted;
+    }
+
+    // Claims slots for a worker pool that keeps them until the scope closes. Unlike a fork, such a
+    // claim is never checked again as later solves open, so it is a soft limit: at most half the
+    // slots, which leaves the other half to the solves that start while this one runs
+    public int claimForPool() {
+        return claim(cpuShare.getSlots() / 2);
+    }
+
+    public long getForked() {
+        return forked.sum();
+    }
+
+    public long getInline() {
+        return inline.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        executor.close();
+        cpuShare.release(claimed);
+        cpuShare.close();
+    }
+}
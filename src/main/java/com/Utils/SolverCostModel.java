@@ -0,0 +1,139 @@
+package com.Utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Predicts how long each solver engine takes on a board from timings recorded on earlier solves.
+// Per engine it keeps a ridge-regularized least-squares fit of log(solve nanos) against the
+// BoardFeatures vector, refit lazily after new samples. Older samples fade out geometrically so
+// the fit follows JIT warm-up and changes in load instead of averaging them in forever.
+@Component
+public class SolverCostModel {
+
+    private static final int FEATURES = 4;
+
+    private static final double RIDGE = 1e-3;
+
+    private static final double DECAY = 0.98;
+
+    private final int minSamples;
+
+    private final Map<String, Fit> fits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SolverCostModel(@Value("${solver.engine.min-samples:3}") int minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    public void record(String engine, BoardFeatures features, long nanos) {
+        fits.computeIfAbsent(engine, k -> new Fit()).add(features.vector(), Math.log(Math.max(1, nanos)));
+    }
+
+    public long getSamples(String engine) {
+        final Fit fit = fits.get(engine);
+        return fit == null ? 0 : fit.samples();
+    }
+
+    // Enough samples to trust the prediction
+    public boolean isCalibrated(String engine) {
+        return getSamples(engine) >= minSamples;
+    }
+
+    // NaN until the engine has been timed at least once
+    public double predictNanos(String engine, BoardFeatures features) {
+        final Fit fit = fits.get(engine);
+        return fit == null ? Double.NaN : Math.exp(fit.predict(features.vector()));
+    }
+
+    // Per engine: sample count and fitted coefficients, sorted by engine
+    public Map<String, Object> snapshot() {
+        final Map<String, Object> snapshot = new TreeMap<>();
+        fits.forEach((engine, fit) -> snapshot.put(engine, fit.snapshot()));
+        return snapshot;
+    }
+
+    private static final class Fit {
+
+        // Decayed sums of x * x^T and x * y
+        private final double[][] xtx = new double[FEATURES][FEATURES];
+        private final double[] xty = new double[FEATURES];
+
+        private long samples;
+
+        private double[] weights;
+
+        private synchronized void add(double[] x, double y) {
+            for (int i = 0; i < FEATURES; i++) {
+                for (int j = 0; j < FEATURES; j++) {
+                    xtx[i][j] = DECAY * xtx[i][j] + x[i] * x[j];
+                }
+                xty[i] = DECAY * xty[i] + x[i] * y;
+            }
+            samples++;
+            weights = null;
+        }
+
+        private synchronized long samples() {
+            return samples;
+        }
+
+        private synchronized double predict(double[] x) {
+            if (weights == null) {
+                weights = solve();
+            }
+            double y = 0;
+            for (int i = 0; i < FEATURES; i++) {
+                y += weights[i] * x[i];
+            }
+            return y;
+        }
+
+        // Gaussian elimination with partial pivoting on (xtx + RIDGE * I) w = xty
+        private double[] solve() {
+            final double[][] a = new double[FEATURES][FEATURES + 1];
+            for (int i = 0; i < FEATURES; i++) {
+                System.arraycopy(xtx[i], 0, a[i], 0, FEATURES);
+                a[i][i] += RIDGE;
+                a[i][FEATURES] = xty[i];
+            }
+            for (int col = 0; col < FEATURES; col++) {
+                int pivot = col;
+                for (int row = col + 1; row < FEATURES; row++) {
+                    if (Math.abs(a[row][col]) > Math.abs(a[pivot][col])) {
+                        pivot = row;
+                    }
+                }
+                final double[] tmp = a[col];
+                a[col] = a[pivot];
+                a[pivot] = tmp;
+                for (int row = col + 1; row < FEATURES; row++) {
+                    final double factor = a[row][col] / a[col][col];
+                    for (int k = col; k <= FEATURES; k++) {
+                        a[row][k] -= factor * a[col][k];
+                    }
+                }
+            }
+            final double[] w = new double[FEATURES];
+            for (int row = FEATURES - 1; row >= 0; row--) {
+                double sum = a[row][FEATURES];
+                for (int k = row + 1; k < FEATURES; k++) {
+                    sum -= a[row][k] * w[k];
+                }
+                w[row] = sum / a[row][row];
+            }
+            return w;
+        }
+
+        private synchronized Map<String, Object> snapshot() {
+            final Map<String, Object> values = new TreeMap<>();
+            values.put("samples", samples);
+            values.put("coefficients", weights == null ? solve() : weights);
+            return values;
+        }
+    }
+}
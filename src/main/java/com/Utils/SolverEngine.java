@@ -0,0 +1,25 @@
+package com.Utils;
+
+import java.util.function.Function;
+
+// One way of solving a puzzle of type P into a result S, known by a short name such as "segment"
+public interface SolverEngine<P, S> {
+
+    String getName();
+
+    S solve(P puzzle);
+
+    static <P, S> SolverEngine<P, S> of(final String name, final Function<P, S> solve) {
+        return new SolverEngine<>() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public S solve(final P puzzle) {
+                return solve.apply(puzzle);
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.Utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+// The solver engines registered for one puzzle type, selectable by name. AUTO asks the cost model
+// for the engine predicted to be fastest on the board at hand; engines the model has too few
+// samples for are tried first, so every engine gets measured before the predictions are trusted.
+// Every solve is timed and fed back into the model.
+public class SolverEngines<P, S> {
+
+    public static final String AUTO = "auto";
+
+    private final PuzzleType puzzleType;
+
+    private final Map<String, SolverEngine<P, S>> engines = new LinkedHashMap<>();
+
+    private final Function<P, BoardFeatures> features;
+
+    private final SolverCostModel costModel;
+
+    private final SolverMetrics solverMetrics;
+
+    public SolverEngines(PuzzleType puzzleType,
+                         List<SolverEngine<P, S>> engines,
+                         Function<P, BoardFeatures> features,
+                         SolverCostModel costModel,
+                         SolverMetrics solverMetrics) {
+        this.puzzleType = puzzleType;
+        for (SolverEngine<P, S> engine : engines) {
+            this.engines.put(engine.getName(), engine);
+        }
+        this.features = features;
+        this.costModel = costModel;
+        this.solverMetrics = solverMetrics;
+    }
+
+    public PuzzleType getPuzzleType() {
+        return puzzleType;
+    }
+
+    public List<String> getNames() {
+        return new ArrayList<>(engines.keySet());
+    }
+
+    // name may be null or AUTO to let the cost model choose
+    public S solve(P puzzle, String name) {
+        final BoardFeatures boardFeatures = features.apply(puzzle);
+        final SolverEngine<P, S> engine = name == null || AUTO.equals(name) ? choose(boardFeatures) : get(name);
+        return solve(engine, puzzle, boardFeatures);
+    }
+
+    public SolverEngine<P, S> get(String name) {
+        final SolverEngine<P, S> engine = engines.get(name);
+        if (engine == null) {
+            throw new IllegalArgumentException("Unknown " + puzzleType.name().toLowerCase() + " engine '" + name
+                    + "', expected one of " + getNames() + " or " + AUTO);
+        }
+        return engine;
+    }
+
+    public SolverEngine<P, S> choose(BoardFeatures boardFeatures) {
+        SolverEngine<P, S> leastSampled = null;
+        for (SolverEngine<P, S> engine : engines.values()) {
+            if (!costModel.isCalibrated(key(engine))
+                    && (leastSampled == null || costModel.getSamples(key(engine)) < costModel.getSamples(key(leastSampled)))) {
+                leastSampled = engine;
+            }
+        }
+        if (leastSampled != null) {
+            return leastSampled;
+        }
+        SolverEngine<P, S> fastest = null;
+        double fastestNanos = Double.POSITIVE_INFINITY;
+        for (SolverEngine<P, S> engine : engines.values()) {
+            final double nanos = costModel.predictNanos(key(engine), boardFeatures);
+            if (nanos < fastestNanos) {
+                fastest = engine;
+                fastestNanos = nanos;
+            }
+        }
+        return fastest;
+    }
+
+    // Times every engine on count boards so AUTO has measurements from the start. A first untimed
+    // round on board(0) warms the JIT up, so cold-start times never reach the model. Stops early
+    // once the thread is interrupted. board(i) must return a fresh puzzle on every call since
+    // solving may change it.
+    public void calibrate(IntFunction<P> board, int count) {
+        if (count <= 0) {
+            return;
+        }
+        for (SolverEngine<P, S> engine : engines.values()) {
+            engine.solve(board.apply(0));
+        }
+        for (int i = 0; i < count; i++) {
+            for (SolverEngine<P, S> engine : engines.values()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                final P puzzle = board.apply(i);
+                solve(engine, puzzle, features.apply(puzzle));
+            }
+        }
+    }
+
+    private S solve(SolverEngine<P, S> engine, P puzzle, BoardFeatures boardFeatures) {
+        final long start = System.nanoTime();
+        final S result = engine.solve(puzzle);
+        final long elapsed = System.nanoTime() - start;
+        // A solve cut short by an interrupt says nothing about how long the engine takes
+        if (!Thread.currentThread().isInterrupted()) {
+            costModel.record(key(engine), boardFeatures, elapsed);
+        }
+        solverMetrics.record(key(engine), elapsed);
+        return result;
+    }
+
+    // Cost model and metrics name, e.g. zip.engine.segment
+    private String key(SolverEngine<P, S> engine) {
+        return puzzleType.name().toLowerCase() + ".engine." + engine.getName();
+    }
+}
@@ -0,0 +1,81 @@
+package com.Utils;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide counters and timers for the solvers and the browser pipeline. Solvers count into
+// plain fields while they run and publish totals here once per solve, so the hot loops never touch
+// shared state and the metrics can stay on in production. Names are dotted, e.g. zip.nodes or
+// sudoku.phase.parse.
+@Component
+public class SolverMetrics {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public void increment(String name, long delta) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+    }
+
+    public void record(String name, long nanos) {
+        timers.computeIfAbsent(name, k -> new Timer()).record(nanos);
+    }
+
+    // One timer per phase, named prefix + "." + phase
+    public void recordPhases(String prefix, PhaseTimings timings) {
+        for (Map.Entry<String, Long> phase : timings.getPhaseNanos().entrySet()) {
+            record(prefix + "." + phase.getKey(), phase.getValue());
+        }
+    }
+
+    public long getCount(String name) {
+        final LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public long getTimerCount(String name) {
+        final Timer timer = timers.get(name);
+        return timer == null ? 0 : timer.count.sum();
+    }
+
+    // Counters as numbers and timers as {count, meanMicros, maxMicros, totalMillis}, sorted by name
+    public Map<String, Object> snapshot() {
+        final Map<String, Object> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        timers.forEach((name, timer) -> snapshot.put(name, timer.snapshot()));
+        return snapshot;
+    }
+
+    private static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            if (nanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+        }
+
+        private Map<String, Long> snapshot() {
+            final long n = count.sum();
+            final long total = totalNanos.sum();
+            final Map<String, Long> values = new TreeMap<>();
+            values.put("count", n);
+            values.put("meanMicros", n == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(total / n));
+            values.put("maxMicros", TimeUnit.NANOSECONDS.toMicros(maxNanos.get()));
+            values.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(total));
+            return values;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.Utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+// Single-producer, single-consumer ring of primitive solver trace events, which the solver fills
+// at full speed while a replay player drains it into the browser. The solver publishes with a
+// release store and the player drains in batches, so neither side takes a lock. The producer only
+// waits when the ring is full; cancel() makes it drop events instead, so a failed player can never
+// stall the solver.
+public class TraceBuffer implements IntConsumer {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final long FULL_BACKOFF_NANOS = 50_000;
+
+    private final int[] events;
+
+    private final int mask;
+
+    // Next slot to read and next slot to write; only the consumer advances head, only the producer tail
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile boolean closed;
+
+    private volatile boolean cancelled;
+
+    public TraceBuffer(final int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.events = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    @Override
+    public void accept(final int event) {
+        final long t = tail.get();
+        while (t - head.getAcquire() == events.length) {
+            if (cancelled) {
+                return;
+            }
+            LockSupport.parkNanos(FULL_BACKOFF_NANOS);
+        }
+        events[(int) t & mask] = event;
+        tail.setRelease(t + 1);
+    }
+
+    // Copies up to max pending events into into and returns how many were copied
+    public int drain(final int[] into, final int max) {
+        final long h = head.get();
+        final int count = (int) Math.min(tail.getAcquire() - h, Math.min(max, into.length));
+        for (int i = 0; i < count; i++) {
+            into[i] = events[(int) (h + i) & mask];
+        }
+        head.setRelease(h + count);
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return head.get() == tail.getAcquire();
+    }
+
+    // Producer is done; the consumer finishes once it has drained the rest
+    public void close() {
+        closed = true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        closed = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
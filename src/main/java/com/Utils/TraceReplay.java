@@ -0,0 +1,53 @@
+package com.Utils;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+public final class TraceReplay {
+
+    private TraceReplay() {
+    }
+
+    // Runs the solver on the calling thread while the player drains its trace on a virtual thread.
+    // Marks "solve" once the solver is done and "playback" once the player has caught up. When the
+    // solver fails the player is cancelled and awaited first, so it never outlives the browser
+    // session it types into.
+    public static void run(final TraceBuffer buffer,
+                           final Runnable player,
+                           final Runnable solver,
+                           final PhaseTimings timings) {
+        final FutureTask<Void> playback = new FutureTask<>(player, null);
+        Thread.ofVirtual().name("trace-playback").start(playback);
+        try {
+            solver.run();
+        } catch (RuntimeException e) {
+            buffer.cancel();
+            awaitCancelled(playback);
+            throw e;
+        } finally {
+            buffer.close();
+        }
+        timings.mark("solve");
+
+        try {
+            playback.get();
+        } catch (InterruptedException e) {
+            buffer.cancel();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during playback", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Playback failed", e.getCause());
+        }
+        timings.mark("playback");
+    }
+
+    private static void awaitCancelled(final FutureTask<Void> playback) {
+        try {
+            playback.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // The solver's failure is the one to report
+        }
+    }
+}
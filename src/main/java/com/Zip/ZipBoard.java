@@ -0,0 +1,160 @@
+package com.Zip;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Set;
+
+// Compact, immutable view of a Zip board. Cells are addressed by index (row * cols + col) and
+// walls are already folded into the neighbor table, so the search never touches Strings or Maps.
+@Getter
+public class ZipBoard {
+
+    public static final int NO_NEIGHBOR = -1;
+
+    public static final int DIRECTION_COUNT = 4;
+
+    // Same order as ZipPuzzle's original DIRECTIONS: right, down, left, up
+    private static final int[][] DIRECTIONS = new int[][]{{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+
+    private final int rows;
+
+    private final int cols;
+
+    private final int cellCount;
+
+    private final int maskWords;
+
+    // Checkpoint number of every cell, 0 when the cell is empty
+    private final int[] values;
+
+    // neighbors[cell * DIRECTION_COUNT + direction], NO_NEIGHBOR when off the board or walled
+    private final int[] neighbors;
+
+    // checkpointCells[k] is the cell index of checkpoint k (index 0 is unused)
+    private final int[] checkpointCells;
+
+    private final int maxNode;
+
+    private final int startCell;
+
+    // Every cell on the board, and the cells on the "even" squares of a checkerboard coloring
+    private final long[] boardMask;
+
+    private final long[] evenMask;
+
+    private ZipBoard(final int rows,
+                     final int cols,
+                     final int[] values,
+                     final int[] neighbors,
+                     final int[] checkpointCells,
+                     final int maxNode) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cellCount = rows * cols;
+        this.maskWords = (cellCount + 63) >>> 6;
+        this.values = values;
+        this.neighbors = neighbors;
+        this.checkpointCells = checkpointCells;
+        this.maxNode = maxNode;
+        this.startCell = maxNode > 0 ? checkpointCells[1] : NO_NEIGHBOR;
+        this.boardMask = new long[maskWords];
+        this.evenMask = new long[maskWords];
+        for (int cell = 0; cell < cellCount; cell++) {
+            set(boardMask, cell);
+            if (((cell / cols + cell % cols) & 1) == 0) {
+                set(evenMask, cell);
+            }
+        }
+    }
+
+    public static ZipBoard from(final int[][] board,
+                                final Map<String, Set<String>> bannedMoves,
+                                final int maxNode) {
+        final int rows = board.length;
+        final int cols = rows == 0 ? 0 : board[0].length;
+        final int[] values = new int[rows * cols];
+        final int[] neighbors = new int[rows * cols * DIRECTION_COUNT];
+        final int[] checkpointCells = new int[maxNode + 1];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                final int cell = row * cols + col;
+                values[cell] = board[row][col];
+                if (board[row][col] > 0) {
+                    checkpointCells[board[row][col]] = cell;
+                }
+                final Set<String> walls = bannedMoves.getOrDefault(row + "," + col, Set.of());
+                for (int d = 0; d < DIRECTION_COUNT; d++) {
+                    final int newRow = row + DIRECTIONS[d][0];
+                    final int newCol = col + DIRECTIONS[d][1];
+                    final boolean onBoard = newRow >= 0 && newRow < rows && newCol >= 0 && newCol < cols;
+                    neighbors[cell * DIRECTION_COUNT + d] = onBoard && !walls.contains(newRow + "," + newCol)
+                            ? newRow * cols + newCol
+                            : NO_NEIGHBOR;
+                }
+            }
+        }
+        return new ZipBoard(rows, cols, values, neighbors, checkpointCells, maxNode);
+    }
+
+    public int neighbor(final int cell, final int direction) {
+        return neighbors[cell * DIRECTION_COUNT + direction];
+    }
+
+    public int row(final int cell) {
+        return cell / cols;
+    }
+
+    public int col(final int cell) {
+        return cell % cols;
+    }
+
+    public int cell(final int row, final int col) {
+        return row * cols + col;
+    }
+
+    // Unvisited neighbors of cell
+    public int onwardExits(final int cell, final long[] seen) {
+        int exits = 0;
+        for (int d = 0; d < DIRECTION_COUNT; d++) {
+            final int next = neighbors[cell * DIRECTION_COUNT + d];
+            if (next != NO_NEIGHBOR && !isSet(seen, next)) {
+                exits++;
+            }
+        }
+        return exits;
+    }
+
+    // Manhattan distance, or 0 when there is no target
+    public int distance(final int cell, final int target) {
+        if (target == NO_NEIGHBOR) {
+            return 0;
+        }
+        return Math.abs(row(cell) - row(target)) + Math.abs(col(cell) - col(target));
+    }
+
+    public long[] newMask() {
+        return new long[maskWords];
+    }
+
+    public static boolean isSet(final long[] mask, final int cell) {
+        return (mask[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public static void set(final long[] mask, final int cell) {
+        mask[cell >>> 6] |= 1L << cell;
+    }
+
+    public static void clear(final long[] mask, final int cell) {
+        mask[cell >>> 6] &= ~(1L << cell);
+    }
+
+    public static boolean intersects(final long[] a, final long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,396 @@
+package com.Zip;
+
+import java.util.Arrays;
+
+// Solves the board as edge variables instead of walking the path cell by cell. Every open edge
+// between neighbors is unknown, on or off; the start and the last checkpoint need exactly one
+// on edge and every other cell two. Each decision is propagated to a fixpoint:
+//  - a cell whose degree is met turns its other edges off, and one with just enough unknown
+//    edges left turns them all on
+//  - on edges link cells into path fragments, tracked at their two ends, so an edge that would
+//    close a cycle, finish the path before every cell is on it or put checkpoints out of order
+//    is turned off
+//  - every cell must stay connected to the start over edges that are not off
+// Only then does the search branch, on the undecided cell with the fewest unknown edges left.
+// The path has to end on the last checkpoint, as in the game. Every node is charged to the solve's
+// budget, and the search gives up once it stops. Not thread-safe; create one per solve.
+public class ZipEdgeSolver {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte ON = 1;
+    private static final byte OFF = 2;
+
+    private static final int NO_EDGE = -1;
+
+    private final ZipBoard zipBoard;
+
+    private final ZipSearchStats stats;
+
+    private final ZipSolveBudget budget;
+
+    private final int cellCount;
+
+    private final int endCell;
+
+    // incident[cell * DIRECTION_COUNT + direction] is the edge to that neighbor, NO_EDGE when walled
+    // or off the board. Edge 2 * cell joins cell to its right neighbor, 2 * cell + 1 to the one below.
+    private final int[] incident;
+
+    // On edges each cell needs
+    private final int[] degree;
+
+    // Cells whose edges changed since they were last looked at
+    private final int[] queue;
+    private final boolean[] queued;
+    private int queueSize;
+
+    // Scratch space for the connectivity check
+    private final int[] reached;
+    private final boolean[] isReached;
+
+    private long nodes;
+
+    private long contradictions;
+
+    private int[] solution;
+
+    public ZipEdgeSolver(final ZipBoard zipBoard) {
+        this(zipBoard, new ZipSearchStats());
+    }
+
+    public ZipEdgeSolver(final ZipBoard zipBoard, final ZipSearchStats stats) {
+        this(zipBoard, stats, ZipSolveBudget.unlimited());
+    }
+
+    public ZipEdgeSolver(final ZipBoard zipBoard, final ZipSearchStats stats, final ZipSolveBudget budget) {
+        this.zipBoard = zipBoard;
+        this.stats = stats;
+        this.budget = budget;
+        this.cellCount = zipBoard.getCellCount();
+        this.endCell = zipBoard.getMaxNode() > 0 ? zipBoard.getCheckpointCells()[zipBoard.getMaxNode()] : ZipBoard.NO_NEIGHBOR;
+        this.incident = new int[cellCount * ZipBoard.DIRECTION_COUNT];
+        this.degree = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+                final int next = zipBoard.neighbor(cell, d);
+                // Right and down edges belong to this cell, left and up ones to the neighbor
+                incident[cell * ZipBoard.DIRECTION_COUNT + d] = next == ZipBoard.NO_NEIGHBOR ? NO_EDGE
+                        : d < 2 ? 2 * cell + d : 2 * next + d - 2;
+            }
+            degree[cell] = 2;
+        }
+        if (endCell != ZipBoard.NO_NEIGHBOR) {
+            degree[zipBoard.getStartCell()] = 1;
+            degree[endCell] = 1;
+        }
+        this.queue = new int[cellCount];
+        this.queued = new boolean[cellCount];
+        this.reached = new int[cellCount];
+        this.isReached = new boolean[cellCount];
+    }
+
+    public int[] solve(final int startCell) {
+        try {
+            if (zipBoard.getValues()[startCell] != 1) {
+                return null;
+            }
+            if (cellCount == 1) {
+                return new int[]{startCell};
+            }
+            // A single checkpoint leaves the end of the path open, which this model cannot express
+            if (zipBoard.getMaxNode() < 2) {
+                return null;
+            }
+            final State state = new State(cellCount);
+            for (int cell = 0; cell < cellCount; cell++) {
+                state.partner[cell] = cell;
+                state.near[cell] = zipBoard.getValues()[cell];
+                state.size[cell] = 1;
+                enqueue(cell);
+            }
+            return search(state) ? solution : null;
+        } finally {
+            stats.add(nodes, contradictions);
+        }
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    private boolean search(final State state) {
+        nodes++;
+        if (!budget.charge(1)) {
+            clearQueue();
+            return false;
+        }
+        if (!propagate(state) || !connected(state)) {
+            fail();
+            return false;
+        }
+
+        int best = -1;
+        int bestUnknown = Integer.MAX_VALUE;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (state.on[cell] < degree[cell]) {
+                final int unknown = unknownEdges(state, cell);
+                if (unknown < bestUnknown) {
+                    best = cell;
+                    bestUnknown = unknown;
+                }
+            }
+        }
+        if (best == -1) {
+            solution = walk(state);
+            return true;
+        }
+
+        // One of the cell's unknown edges is on: try each in turn with the ones before it off, most
+        // constrained neighbor first, so the branches never overlap
+        final int[] edges = new int[ZipBoard.DIRECTION_COUNT];
+        final int[] keys = new int[ZipBoard.DIRECTION_COUNT];
+        int count = 0;
+        for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+            final int edge = incident[best * ZipBoard.DIRECTION_COUNT + d];
+            if (edge == NO_EDGE || state.edges[edge] != UNKNOWN) {
+                continue;
+            }
+            final int key = unknownEdges(state, other(edge, best));
+            int i = count++;
+            while (i > 0 && keys[i - 1] > key) {
+                keys[i] = keys[i - 1];
+                edges[i] = edges[i - 1];
+                i--;
+            }
+            keys[i] = key;
+            edges[i] = edge;
+        }
+        for (int i = 0; i < count; i++) {
+            final State child = state.copy();
+            for (int j = 0; j < i; j++) {
+                setOff(child, edges[j]);
+            }
+            if (!setOn(child, edges[i])) {
+                fail();
+            } else if (search(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void fail() {
+        contradictions++;
+        clearQueue();
+    }
+
+    private void clearQueue() {
+        queueSize = 0;
+        Arrays.fill(queued, false);
+    }
+
+    private boolean propagate(final State state) {
+        while (queueSize > 0) {
+            final int cell = queue[--queueSize];
+            queued[cell] = false;
+            final int unknown = unknownEdges(state, cell);
+            final int missing = degree[cell] - state.on[cell];
+            if (missing < 0 || unknown < missing) {
+                return false;
+            }
+            if (unknown == 0) {
+                continue;
+            }
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+                final int edge = incident[cell * ZipBoard.DIRECTION_COUNT + d];
+                if (edge == NO_EDGE || state.edges[edge] != UNKNOWN) {
+                    continue;
+                }
+                if (missing == 0 || !canJoin(state, cell, other(edge, cell))) {
+                    setOff(state, edge);
+                } else if (unknown == missing && !setOn(state, edge)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Whether an on edge between a and b keeps the fragments a valid part of the path
+    private boolean canJoin(final State state, final int a, final int b) {
+        if (state.on[a] >= degree[a] || state.on[b] >= degree[b]) {
+            return false;
+        }
+        final int endA = state.partner[a];
+        final int endB = state.partner[b];
+        if (endA == b) {
+            return false;
+        }
+        if (state.size[a] + state.size[b] < cellCount
+                && (endA == zipBoard.getStartCell() || endA == endCell)
+                && (endB == zipBoard.getStartCell() || endB == endCell)) {
+            return false;
+        }
+        // Both fragments already list their checkpoints consecutively; joined, the two nearest the
+        // join must be neighbors in number and run in the direction both fragments already run
+        final int nearA = state.near[a];
+        final int nearB = state.near[b];
+        if (nearA == 0 || nearB == 0) {
+            return true;
+        }
+        final int step = nearB - nearA;
+        if (step != 1 && step != -1) {
+            return false;
+        }
+        final int farA = state.near[endA];
+        final int farB = state.near[endB];
+        return (farA == nearA || Integer.signum(nearA - farA) == step)
+                && (farB == nearB || Integer.signum(farB - nearB) == step);
+    }
+
+    private boolean setOn(final State state, final int edge) {
+        final int a = edge >>> 1;
+        final int b = other(edge, a);
+        if (!canJoin(state, a, b)) {
+            return false;
+        }
+        state.edges[edge] = ON;
+        state.on[a]++;
+        state.on[b]++;
+
+        final int endA = state.partner[a];
+        final int endB = state.partner[b];
+        final int nearA = state.near[a];
+        final int nearB = state.near[b];
+        // A fragment without checkpoints now first meets one in the other fragment
+        if (state.near[endA] == 0) {
+            state.near[endA] = nearB;
+        }
+        if (state.near[endB] == 0) {
+            state.near[endB] = nearA;
+        }
+        final int size = state.size[a] + state.size[b];
+        state.size[endA] = size;
+        state.size[endB] = size;
+        state.partner[endA] = endB;
+        state.partner[endB] = endA;
+
+        enqueue(a);
+        enqueue(b);
+        enqueue(endA);
+        enqueue(endB);
+        return true;
+    }
+
+    private void setOff(final State state, final int edge) {
+        state.edges[edge] = OFF;
+        final int a = edge >>> 1;
+        enqueue(a);
+        enqueue(other(edge, a));
+    }
+
+    // Every cell can still be reached from the start over edges that are not off
+    private boolean connected(final State state) {
+        Arrays.fill(isReached, false);
+        final int startCell = zipBoard.getStartCell();
+        reached[0] = startCell;
+        isReached[startCell] = true;
+        int size = 1;
+        for (int i = 0; i < size; i++) {
+            final int cell = reached[i];
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+                final int edge = incident[cell * ZipBoard.DIRECTION_COUNT + d];
+                if (edge == NO_EDGE || state.edges[edge] == OFF) {
+                    continue;
+                }
+                final int next = zipBoard.neighbor(cell, d);
+                if (!isReached[next]) {
+                    isReached[next] = true;
+                    reached[size++] = next;
+                }
+            }
+        }
+        return size == cellCount;
+    }
+
+    private int[] walk(final State state) {
+        final int[] path = new int[cellCount];
+        int previous = ZipBoard.NO_NEIGHBOR;
+        int cell = zipBoard.getStartCell();
+        for (int i = 0; i < cellCount; i++) {
+            path[i] = cell;
+            int next = ZipBoard.NO_NEIGHBOR;
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT && next == ZipBoard.NO_NEIGHBOR; d++) {
+                final int edge = incident[cell * ZipBoard.DIRECTION_COUNT + d];
+                final int neighbor = zipBoard.neighbor(cell, d);
+                if (edge != NO_EDGE && state.edges[edge] == ON && neighbor != previous) {
+                    next = neighbor;
+                }
+            }
+            previous = cell;
+            cell = next;
+        }
+        return path;
+    }
+
+    private int unknownEdges(final State state, final int cell) {
+        int unknown = 0;
+        for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+            final int edge = incident[cell * ZipBoard.DIRECTION_COUNT + d];
+            if (edge != NO_EDGE && state.edges[edge] == UNKNOWN) {
+                unknown++;
+            }
+        }
+        return unknown;
+    }
+
+    private int other(final int edge, final int cell) {
+        final int owner = edge >>> 1;
+        final int neighbor = (edge & 1) == 0 ? owner + 1 : owner + zipBoard.getCols();
+        return cell == owner ? neighbor : owner;
+    }
+
+    private void enqueue(final int cell) {
+        if (!queued[cell]) {
+            queued[cell] = true;
+            queue[queueSize++] = cell;
+        }
+    }
+
+    // Edge values plus the fragment bookkeeping, which is only kept up to date at fragment ends
+    private static final class State {
+
+        private final byte[] edges;
+
+        private final int[] on;
+
+        // The other end of the fragment
+        private final int[] partner;
+
+        // The first checkpoint met walking into the fragment from this end, 0 when it has none
+        private final int[] near;
+
+        // Cells in the fragment
+        private final int[] size;
+
+        private State(final int cellCount) {
+            this.edges = new byte[2 * cellCount];
+            this.on = new int[cellCount];
+            this.partner = new int[cellCount];
+            this.near = new int[cellCount];
+            this.size = new int[cellCount];
+        }
+
+        private State(final State other) {
+            this.edges = other.edges.clone();
+            this.on = other.on.clone();
+            this.partner = other.partner.clone();
+            this.near = other.near.clone();
+            this.size = other.size.clone();
+        }
+
+        private State copy() {
+            return new State(this);
+        }
+    }
+}
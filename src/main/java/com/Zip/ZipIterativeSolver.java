@@ -0,0 +1,126 @@
+package com.Zip;
+
+// Explicit-stack depth-first search with Warnsdorff-style move ordering: from each cell, try the
+// neighbor with the fewest onward exits first and break ties by Manhattan distance to the next
+// checkpoint. All search state lives in arrays sized to the board, so stack depth stays constant
+// no matter how large the board is. Not thread-safe; create one per solve.
+public class ZipIterativeSolver {
+
+    private final ZipBoard zipBoard;
+
+    private final ZipPruner pruner;
+
+    private final ZipSearchStats stats;
+
+    // Scratch space for ordering the (at most four) candidates of one cell
+    private final int[] candidateKeys = new int[ZipBoard.DIRECTION_COUNT];
+
+    public ZipIterativeSolver(final ZipBoard zipBoard) {
+        this(zipBoard, new ZipSearchStats());
+    }
+
+    public ZipIterativeSolver(final ZipBoard zipBoard, final ZipSearchStats stats) {
+        this(zipBoard, stats, ZipSolveBudget.unlimited());
+    }
+
+    public ZipIterativeSolver(final ZipBoard zipBoard, final ZipSearchStats stats, final ZipSolveBudget budget) {
+        this.zipBoard = zipBoard;
+        this.pruner = new ZipPruner(zipBoard, budget);
+        this.stats = stats;
+    }
+
+    public int[] solve(final int startCell) {
+        try {
+            return search(startCell);
+        } finally {
+            pruner.flush();
+            stats.add(pruner);
+        }
+    }
+
+    private int[] search(final int startCell) {
+        final int cellCount = zipBoard.getCellCount();
+        final int[] values = zipBoard.getValues();
+        final int[] path = new int[cellCount];
+        // nextNodes[d] is the checkpoint still to be reached after path[d] has been entered
+        final int[] nextNodes = new int[cellCount];
+        final int[] candidates = new int[cellCount * ZipBoard.DIRECTION_COUNT];
+        final int[] candidateCount = new int[cellCount];
+        final int[] candidateIndex = new int[cellCount];
+        final long[] seen = zipBoard.newMask();
+
+        if (values[startCell] != 1) {
+            return null;
+        }
+        path[0] = startCell;
+        nextNodes[0] = 2;
+        ZipBoard.set(seen, startCell);
+        if (cellCount == 1) {
+            return path;
+        }
+        if (!pruner.isViable(startCell, 2, seen)) {
+            return null;
+        }
+        orderCandidates(0, path, nextNodes, candidates, candidateCount, candidateIndex, seen);
+
+        int depth = 0;
+        while (depth >= 0) {
+            if (candidateIndex[depth] == candidateCount[depth]) {
+                ZipBoard.clear(seen, path[depth]);
+                depth--;
+                continue;
+            }
+            final int next = candidates[depth * ZipBoard.DIRECTION_COUNT + candidateIndex[depth]++];
+            final int nextNode = values[next] == nextNodes[depth] ? nextNodes[depth] + 1 : nextNodes[depth];
+            path[depth + 1] = next;
+            ZipBoard.set(seen, next);
+            if (depth + 2 == cellCount) {
+                return path;
+            }
+            if (!pruner.isViable(next, nextNode, seen)) {
+                ZipBoard.clear(seen, next);
+                continue;
+            }
+            depth++;
+            nextNodes[depth] = nextNode;
+            orderCandidates(depth, path, nextNodes, candidates, candidateCount, candidateIndex, seen);
+        }
+        return null;
+    }
+
+    private void orderCandidates(final int depth,
+                                 final int[] path,
+                                 final int[] nextNodes,
+                                 final int[] candidates,
+                                 final int[] candidateCount,
+                                 final int[] candidateIndex,
+                                 final long[] seen) {
+        final int[] values = zipBoard.getValues();
+        final int cell = path[depth];
+        final int nextNode = nextNodes[depth];
+        final int target = nextNode <= zipBoard.getMaxNode() ? zipBoard.getCheckpointCells()[nextNode] : ZipBoard.NO_NEIGHBOR;
+        // Exits dominate; the distance tie-break never exceeds rows + cols
+        final int exitWeight = zipBoard.getRows() + zipBoard.getCols() + 1;
+        final int offset = depth * ZipBoard.DIRECTION_COUNT;
+        int count = 0;
+        for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+            final int next = zipBoard.neighbor(cell, d);
+            if (next == ZipBoard.NO_NEIGHBOR || ZipBoard.isSet(seen, next)
+                    || (values[next] != 0 && values[next] != nextNode)) {
+                continue;
+            }
+            final int key = zipBoard.onwardExits(next, seen) * exitWeight + zipBoard.distance(next, target);
+            // Insertion sort on at most four entries
+            int i = count++;
+            while (i > 0 && candidateKeys[i - 1] > key) {
+                candidateKeys[i] = candidateKeys[i - 1];
+                candidates[offset + i] = candidates[offset + i - 1];
+                i--;
+            }
+            candidateKeys[i] = key;
+            candidates[offset + i] = next;
+        }
+        candidateCount[depth] = count;
+        candidateIndex[depth] = 0;
+    }
+}
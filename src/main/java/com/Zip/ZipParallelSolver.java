@@ -0,0 +1,137 @@
+package com.Zip;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Fork/join search of the Zip path tree. Every task owns its own path and seen mask, and a
+// worker only splits its subtree while its local queue runs dry, so idle workers steal the
+// oldest (largest) branches. The first full path wins and stops every other worker. Each task
+// gets its own ZipPruner since the pruner's scratch buffers are not shareable.
+public class ZipParallelSolver {
+
+    // Keep a few tasks queued per worker so thieves always find something to take
+    private static final int SURPLUS_THRESHOLD = 2;
+
+    // Subtrees this close to the leaves are cheaper to search than to copy state for
+    private static final int MIN_REMAINING_TO_SPLIT = 8;
+
+    private final ZipBoard zipBoard;
+
+    private final ForkJoinPool pool;
+
+    private final ZipSearchStats stats;
+
+    private final ZipSolveBudget budget;
+
+    private final AtomicReference<int[]> solution = new AtomicReference<>();
+
+    public ZipParallelSolver(final ZipBoard zipBoard, final ForkJoinPool pool) {
+        this(zipBoard, pool, new ZipSearchStats());
+    }
+
+    public ZipParallelSolver(final ZipBoard zipBoard, final ForkJoinPool pool, final ZipSearchStats stats) {
+        this(zipBoard, pool, stats, ZipSolveBudget.unlimited());
+    }
+
+    // Every worker charges the same budget; once it stops, the whole tree unwinds
+    public ZipParallelSolver(final ZipBoard zipBoard,
+                             final ForkJoinPool pool,
+                             final ZipSearchStats stats,
+                             final ZipSolveBudget budget) {
+        this.zipBoard = zipBoard;
+        this.pool = pool;
+        this.stats = stats;
+        this.budget = budget;
+    }
+
+    public int[] solve(final int startCell) {
+        if (!canEnter(startCell, 1, zipBoard.newMask())) {
+            return null;
+        }
+        pool.invoke(new SearchTask(startCell, 1, 0, new int[zipBoard.getCellCount()], zipBoard.newMask()));
+        return solution.get();
+    }
+
+    private boolean canEnter(final int cell, final int nextNode, final long[] seen) {
+        final int value = zipBoard.getValues()[cell];
+        return !ZipBoard.isSet(seen, cell) && (value == nextNode || value == 0);
+    }
+
+    private void search(final int cell,
+                        int nextNode,
+                        final int depth,
+                        final int[] path,
+                        final long[] seen,
+                        final ZipPruner pruner) {
+        if (solution.get() != null || budget.isStopped()) {
+            return;
+        }
+        if (zipBoard.getValues()[cell] == nextNode) {
+            nextNode++;
+        }
+        path[depth] = cell;
+        if (depth + 1 == zipBoard.getCellCount()) {
+            solution.compareAndSet(null, path.clone());
+            return;
+        }
+        ZipBoard.set(seen, cell);
+        if (!pruner.isViable(cell, nextNode, seen)) {
+            ZipBoard.clear(seen, cell);
+            return;
+        }
+        final int[] neighbors = zipBoard.getNeighbors();
+        final int base = cell * ZipBoard.DIRECTION_COUNT;
+        if (zipBoard.getCellCount() - depth > MIN_REMAINING_TO_SPLIT
+                && ForkJoinTask.getSurplusQueuedTaskCount() < SURPLUS_THRESHOLD) {
+            final List<SearchTask> children = new ArrayList<>(ZipBoard.DIRECTION_COUNT);
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+                final int next = neighbors[base + d];
+                if (next != ZipBoard.NO_NEIGHBOR && canEnter(next, nextNode, seen)) {
+                    children.add(new SearchTask(next, nextNode, depth + 1, path.clone(), seen.clone()));
+                }
+            }
+            ForkJoinTask.invokeAll(children);
+        } else {
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT && solution.get() == null; d++) {
+                final int next = neighbors[base + d];
+                if (next != ZipBoard.NO_NEIGHBOR && canEnter(next, nextNode, seen)) {
+                    search(next, nextNode, depth + 1, path, seen, pruner);
+                }
+            }
+        }
+        ZipBoard.clear(seen, cell);
+    }
+
+    private final class SearchTask extends RecursiveAction {
+
+        private final int cell;
+        private final int nextNode;
+        private final int depth;
+        private final int[] path;
+        private final long[] seen;
+
+        private SearchTask(final int cell,
+                           final int nextNode,
+                           final int depth,
+                           final int[] path,
+                           final long[] seen) {
+            this.cell = cell;
+            this.nextNode = nextNode;
+            this.depth = depth;
+            this.path = path;
+            this.seen = seen;
+        }
+
+        @Override
+        protected void compute() {
+            final ZipPruner pruner = new ZipPruner(zipBoard, budget);
+            search(cell, nextNode, depth, path, seen, pruner);
+            pruner.flush();
+            stats.add(pruner);
+        }
+    }
+}
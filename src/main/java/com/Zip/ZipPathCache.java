@@ -0,0 +1,97 @@
+package com.Zip;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free cache of witness paths proving checkpoint k-1 can still reach checkpoint k. Witnesses
+// are immutable bitmask snapshots, so readers on any thread can test them against the visited mask
+// without copying. A witness that overlaps the visited cells is invalidated; each segment keeps a
+// bounded number of slots and overwrites the oldest one when full.
+public class ZipPathCache {
+
+    public static final int DEFAULT_WITNESSES_PER_SEGMENT = 4;
+
+    private final AtomicReferenceArray<long[]>[] witnesses;
+
+    private final AtomicInteger[] nextSlot;
+
+    private final int witnessesPerSegment;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ZipPathCache(final int maxNode, final int witnessesPerSegment) {
+        this.witnessesPerSegment = witnessesPerSegment;
+        this.witnesses = new AtomicReferenceArray[maxNode + 1];
+        this.nextSlot = new AtomicInteger[maxNode + 1];
+        for (int endNode = 0; endNode <= maxNode; endNode++) {
+            witnesses[endNode] = new AtomicReferenceArray<>(witnessesPerSegment);
+            nextSlot[endNode] = new AtomicInteger();
+        }
+    }
+
+    // True when a cached witness for endNode avoids every visited cell
+    public boolean lookup(final int endNode, final long[] seen) {
+        final AtomicReferenceArray<long[]> slots = witnesses[endNode];
+        for (int i = 0; i < witnessesPerSegment; i++) {
+            final long[] witness = slots.get(i);
+            if (witness == null) {
+                continue;
+            }
+            if (!ZipBoard.intersects(witness, seen)) {
+                hits.increment();
+                return true;
+            }
+            if (slots.compareAndSet(i, witness, null)) {
+                invalidations.increment();
+            }
+        }
+        misses.increment();
+        return false;
+    }
+
+    public void store(final int endNode, final long[] path) {
+        final long[] witness = path.clone();
+        final AtomicReferenceArray<long[]> slots = witnesses[endNode];
+        for (int i = 0; i < witnessesPerSegment; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, witness)) {
+                return;
+            }
+        }
+        final int slot = Math.floorMod(nextSlot[endNode].getAndIncrement(), witnessesPerSegment);
+        if (slots.getAndSet(slot, witness) != null) {
+            evictions.increment();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public int getHitRate() {
+        final long lookups = getHits() + getMisses();
+        return lookups == 0 ? 0 : (int) (100 * getHits() / lookups);
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions()
+                + ", invalidations=" + getInvalidations() + ", hitRate=" + getHitRate() + "%";
+    }
+}
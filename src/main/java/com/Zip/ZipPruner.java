@@ -0,0 +1,167 @@
+package com.Zip;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+// Cheap feasibility checks run on every search node before descending. A state is rejected when
+//  - the cells between the head and the next checkpoint cannot be crossed without stepping on a later checkpoint,
+//  - the unvisited cells are not all reachable from the head,
+//  - more than one free cell has a single usable exit (every such cell has to be the end of the path),
+//  - the unvisited cells cannot alternate colors on a checkerboard starting from the head.
+// Every check is charged to the solve's budget; once it stops, every state is turned down so the
+// search unwinds. Instances reuse their scratch buffers and are not thread-safe; give each worker
+// its own.
+public class ZipPruner {
+
+    private final ZipBoard zipBoard;
+
+    private final ZipSolveBudget budget;
+
+    private final int[] queue;
+
+    private final long[] reached;
+
+    // States checked and states rejected by this instance
+    @Getter
+    private long checks;
+
+    @Getter
+    private long rejections;
+
+    // Checks not yet charged to the budget
+    private int uncharged;
+
+    public ZipPruner(final ZipBoard zipBoard) {
+        this(zipBoard, ZipSolveBudget.unlimited());
+    }
+
+    public ZipPruner(final ZipBoard zipBoard, final ZipSolveBudget budget) {
+        this.zipBoard = zipBoard;
+        this.budget = budget;
+        this.queue = new int[zipBoard.getCellCount()];
+        this.reached = zipBoard.newMask();
+    }
+
+    // seen must already contain head
+    public boolean isViable(final int head, final int nextNode, final long[] seen) {
+        checks++;
+        if (budget.isStopped()) {
+            return false;
+        }
+        if (++uncharged == ZipSolveBudget.CHARGE_INTERVAL) {
+            uncharged = 0;
+            if (!budget.charge(ZipSolveBudget.CHARGE_INTERVAL)) {
+                return false;
+            }
+        }
+        if (viable(head, nextNode, seen)) {
+            return true;
+        }
+        rejections++;
+        return false;
+    }
+
+    // Hands the remaining checks to the budget; call once the worker is done with this pruner
+    public void flush() {
+        budget.record(uncharged);
+        uncharged = 0;
+    }
+
+    private boolean viable(final int head, final int nextNode, final long[] seen) {
+        final long[] boardMask = zipBoard.getBoardMask();
+        final long[] evenMask = zipBoard.getEvenMask();
+        int remaining = 0;
+        int remainingEven = 0;
+        for (int w = 0; w < seen.length; w++) {
+            final long free = boardMask[w] & ~seen[w];
+            remaining += Long.bitCount(free);
+            remainingEven += Long.bitCount(free & evenMask[w]);
+        }
+        if (remaining == 0) {
+            return true;
+        }
+        // The rest of the path alternates colors, so cells matching the head's color are exactly half (rounded down)
+        final int sameColorAsHead = ZipBoard.isSet(evenMask, head) ? remainingEven : remaining - remainingEven;
+        if (sameColorAsHead != remaining / 2) {
+            return false;
+        }
+        return nextCheckpointReachable(head, nextNode, seen) && freeCellsConnected(head, seen, remaining);
+    }
+
+    private boolean nextCheckpointReachable(final int head, final int nextNode, final long[] seen) {
+        if (nextNode > zipBoard.getMaxNode()) {
+            return true;
+        }
+        final int target = zipBoard.getCheckpointCells()[nextNode];
+        final int[] values = zipBoard.getValues();
+        final int[] neighbors = zipBoard.getNeighbors();
+        Arrays.fill(reached, 0L);
+        int front = 0;
+        int tail = 0;
+        queue[tail++] = head;
+        ZipBoard.set(reached, head);
+        while (front < tail) {
+            final int base = queue[front++] * ZipBoard.DIRECTION_COUNT;
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+                final int next = neighbors[base + d];
+                if (next == ZipBoard.NO_NEIGHBOR || ZipBoard.isSet(seen, next) || ZipBoard.isSet(reached, next)) {
+                    continue;
+                }
+                if (next == target) {
+                    return true;
+                }
+                // Later checkpoints cannot be crossed before the next one is reached
+                if (values[next] == 0) {
+                    ZipBoard.set(reached, next);
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean freeCellsConnected(final int head, final long[] seen, final int remaining) {
+        final int[] neighbors = zipBoard.getNeighbors();
+        Arrays.fill(reached, 0L);
+        int front = 0;
+        int tail = 0;
+        int deadEnds = 0;
+        queue[tail++] = head;
+        ZipBoard.set(reached, head);
+        while (front < tail) {
+            final int cell = queue[front++];
+            final int base = cell * ZipBoard.DIRECTION_COUNT;
+            int exits = 0;
+            boolean touchesHead = false;
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+                final int next = neighbors[base + d];
+                if (next == ZipBoard.NO_NEIGHBOR) {
+                    continue;
+                }
+                if (next == head) {
+                    exits++;
+                    touchesHead = true;
+                    continue;
+                }
+                if (ZipBoard.isSet(seen, next)) {
+                    continue;
+                }
+                exits++;
+                if (!ZipBoard.isSet(reached, next)) {
+                    ZipBoard.set(reached, next);
+                    queue[tail++] = next;
+                }
+            }
+            if (cell == head || exits >= 2) {
+                continue;
+            }
+            // A single exit makes this cell the end of the path; only one cell can be the end, and a cell
+            // reachable only from the head would have to be both the next step and the last one
+            if (++deadEnds > 1 || (touchesHead && remaining > 1)) {
+                return false;
+            }
+        }
+        return tail - 1 == remaining;
+    }
+}
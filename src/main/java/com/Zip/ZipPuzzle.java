@@ -1,6 +1,11 @@
 package com.Zip;
 
-import lombok.AllArgsConstructor;
+import com.Utils.BoardLayout;
+import com.Utils.CpuShare;
+import com.Utils.Fingerprints;
+import com.Utils.SolutionCache;
+import com.Utils.SolveScope;
+import com.Utils.SolverMetrics;
 import lombok.Getter;
 
 import java.util.ArrayList;
@@ -9,12 +14,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
-@AllArgsConstructor
 @Getter
 public class ZipPuzzle {
 
@@ -26,142 +31,357 @@ public class ZipPuzzle {
 
     private final int maxNode;
 
-    private final HashMap<Integer, Set<String>> cachedPaths = new HashMap<>();
+    private final ZipBoard zipBoard;
 
-    private final AtomicInteger cacheHits = new AtomicInteger(0);
-    private final AtomicInteger cacheMisses = new AtomicInteger(0);
+    private final ZipPathCache pathCache;
 
-    private final static int[][] DIRECTIONS = new int[][]{{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+    private final ZipSearchStats searchStats = new ZipSearchStats();
 
-    private final static ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    public ZipPuzzle(final int[][] board,
+                     final HashMap<String, Set<String>> bannedMoves,
+                     final HashMap<Integer, Integer[]> nodeLocations,
+                     final int maxNode) {
+        this.board = board;
+        this.bannedMoves = bannedMoves;
+        this.nodeLocations = nodeLocations;
+        this.maxNode = maxNode;
+        this.zipBoard = ZipBoard.from(board, bannedMoves, maxNode);
+        this.pathCache = new ZipPathCache(maxNode, ZipPathCache.DEFAULT_WITNESSES_PER_SEGMENT);
+    }
 
     public List<Integer[]> getSolution() {
-        final List<Integer[]> solution = new ArrayList<>();
-        dfsFindPath(getStartLocation(), 1, new ArrayList<>(), new HashSet<>(), solution, true);
-        return solution;
+        return toCoordinates(solvePath(true));
+    }
+
+    // Same as getSolution(), but a board that has been solved before is answered from the cache
+    public List<Integer[]> getCachedSolution(final SolutionCache cache) {
+        return getCachedSolution(cache, () -> solvePath(true));
+    }
+
+    // solver returns the path as cell indices on a cache miss, e.g. one of the ZipSolverEngines
+    public List<Integer[]> getCachedSolution(final SolutionCache cache, final Supplier<int[]> solver) {
+        return toCoordinates(cache.computeIfAbsent(fingerprint(), solver));
+    }
+
+    // Checkpoint values plus the neighbor table, which already has every wall applied, so equal
+    // boards match however their walls were listed
+    public String fingerprint() {
+        final int[] values = zipBoard.getValues();
+        final int[] neighbors = zipBoard.getNeighbors();
+        final int[] data = new int[2 + values.length + neighbors.length];
+        data[0] = zipBoard.getRows();
+        data[1] = zipBoard.getCols();
+        System.arraycopy(values, 0, data, 2, values.length);
+        System.arraycopy(neighbors, 0, data, 2 + values.length, neighbors.length);
+        return Fingerprints.of("zip", data);
+    }
+
+    // Checkpoints and walls as a BoardLayout, walls marked on both cells they separate
+    public BoardLayout toLayout() {
+        final int[] walls = new int[zipBoard.getCellCount()];
+        final int[] sides = {BoardLayout.WALL_RIGHT, BoardLayout.WALL_DOWN, BoardLayout.WALL_LEFT, BoardLayout.WALL_UP};
+        for (int cell = 0; cell < walls.length; cell++) {
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+                final int row = zipBoard.row(cell) + (d == 1 ? 1 : d == 3 ? -1 : 0);
+                final int col = zipBoard.col(cell) + (d == 0 ? 1 : d == 2 ? -1 : 0);
+                final boolean onBoard = row >= 0 && row < zipBoard.getRows() && col >= 0 && col < zipBoard.getCols();
+                if (onBoard && zipBoard.neighbor(cell, d) == ZipBoard.NO_NEIGHBOR) {
+                    walls[cell] |= sides[d];
+                }
+            }
+        }
+        return new BoardLayout(zipBoard.getRows(), zipBoard.getCols(), zipBoard.getValues().clone(), walls);
+    }
+
+    public List<Integer[]> getIterativeSolution() {
+        return toCoordinates(withSolveStats(stats -> new ZipIterativeSolver(zipBoard, stats).solve(getStartCell())));
+    }
+
+    public List<Integer[]> getCachedIterativeSolution(final SolutionCache cache) {
+        return getCachedSolution(cache, () -> withSolveStats(stats -> new ZipIterativeSolver(zipBoard, stats).solve(getStartCell())));
+    }
+
+    // Segment-by-segment search that remembers which (checkpoint, visited cells) states fail
+    public List<Integer[]> getSegmentSolution() {
+        return toCoordinates(withSolveStats(stats -> new ZipSegmentSolver(zipBoard, stats, ZipSegmentSolver.DEFAULT_MAX_MEMO_ENTRIES)
+                .solve(getStartCell())));
+    }
+
+    // Constraint propagation over edge variables, branching only on the most constrained cell
+    public List<Integer[]> getEdgeSolution() {
+        return toCoordinates(withSolveStats(stats -> new ZipEdgeSolver(zipBoard, stats).solve(getStartCell())));
+    }
+
+    public List<Integer[]> getParallelSolution() {
+        return getParallelSolution(ForkJoinPool.commonPool());
+    }
+
+    public List<Integer[]> getParallelSolution(final ForkJoinPool pool) {
+        return toCoordinates(withSolveStats(stats -> new ZipParallelSolver(zipBoard, pool, stats).solve(getStartCell())));
     }
 
     public void visualizeSolution(final List<Integer[]> path,
                                   final boolean multiThreaded) {
-        final List<Integer[]> solution = new ArrayList<>();
-        dfsFindPath(getStartLocation(), 1, path, new HashSet<>(), solution, multiThreaded);
+        visualizeSolution(event -> {
+            if (event >= 0) {
+                path.add(new Integer[]{zipBoard.row(event), zipBoard.col(event)});
+            } else {
+                path.removeLast();
+            }
+        }, multiThreaded);
+    }
+
+    // Streams the search as primitive events: a cell index when the path enters a cell and its
+    // complement (~cell) when the path backs out of it again
+    public void visualizeSolution(final IntConsumer trace,
+                                  final boolean multiThreaded) {
+        new DepthFirstSearch(ZipSolveBudget.unlimited(), trace, multiThreaded, CpuShare.machine())
+                .run(new int[zipBoard.getCellCount()]);
+    }
+
+    // Depth-first search with reachability checks that gives up once budget runs out, on the
+    // reachability workers as well, and reports whether it solved the board, proved it unsolvable
+    // or ran out of budget, with how far it got
+    public ZipSolveResult solve(final ZipSolveBudget budget) {
+        return solve(budget, CpuShare.machine());
     }
 
-    private void dfsFindPath(final Integer[] currentLocation,
-                            Integer nextNode,
-                            final List<Integer[]> path,
-                            final Set<String> seen,
-                            final List<Integer[]> solution,
-                            final boolean multiThreaded) {
-        if (!solution.isEmpty()) {
-            return;
+    // Same, with the reachability checks taking their worker threads from cpuShare. The result
+    // carries this solve's counters alone, so concurrent solves of one puzzle do not mix.
+    public ZipSolveResult solve(final ZipSolveBudget budget, final CpuShare cpuShare) {
+        final int[] path = new int[zipBoard.getCellCount()];
+        final DepthFirstSearch search = new DepthFirstSearch(budget, null, true, cpuShare);
+        final boolean solved = search.run(path);
+        final ZipSolveResult.Status status = solved ? ZipSolveResult.Status.SOLVED
+                : budget.isStopped() ? ZipSolveResult.Status.BUDGET_EXCEEDED : ZipSolveResult.Status.UNSOLVABLE;
+        return new ZipSolveResult(status, solved ? path : null, budget.getNodes(), search.deepestPath,
+                budget.getElapsedNanos(), search.stats);
+    }
+
+    // Publishes everything this puzzle's solves have counted so far; call once per puzzle
+    public void reportMetrics(final SolverMetrics metrics) {
+        searchStats.reportTo(metrics, pathCache);
+    }
+
+    int[] solvePath(final boolean reachabilityChecks) {
+        final int[] path = new int[zipBoard.getCellCount()];
+        return new DepthFirstSearch(ZipSolveBudget.unlimited(), null, reachabilityChecks, CpuShare.machine()).run(path) ? path : null;
+    }
+
+    // Fork/join search on a pool of its own, sized to this solve's share of the cores (at most half
+    // of them, see SolveScope.claimForPool) and shut down with the solve. Every worker charges
+    // budget, so its deadline and node limit stop the pool directly.
+    int[] solveParallel(final ZipSolveBudget budget, final CpuShare cpuShare) {
+        try (SolveScope scope = SolveScope.open(cpuShare)) {
+            // The solving thread only waits on the pool, so the pool always gets that core
+            final ForkJoinPool pool = new ForkJoinPool(1 + scope.claimForPool());
+            try {
+                return withSolveStats(stats -> new ZipParallelSolver(zipBoard, pool, stats, budget).solve(getStartCell()));
+            } finally {
+                pool.shutdownNow();
+                pool.close();
+            }
         }
-        if (path.size() == board.length * board[0].length) {
-            solution.addAll(path);
-            return;
+    }
+
+    // Runs one solve on counters of its own and adds them to the puzzle's once it ends, so
+    // concurrent solves of this puzzle never count into the same stats while they run
+    <T> T withSolveStats(final Function<ZipSearchStats, T> solve) {
+        final ZipSearchStats stats = new ZipSearchStats();
+        try {
+            return solve.apply(stats);
+        } finally {
+            searchStats.add(stats);
         }
-        final int row = currentLocation[0];
-        final int col = currentLocation[1];
-        final String seenKey = row + "," + col;
-        if (row < 0 || row == board.length ||
-                col < 0 || col == board[0].length ||
-                seen.contains(seenKey) ||
-                (board[row][col] != nextNode && board[row][col] != 0)) {
-            return;
+    }
+
+    // One recursive solve with counters of its own, added to the puzzle's once it ends. Reachability
+    // checks are forked into a SolveScope, so none outlives the solve.
+    private final class DepthFirstSearch {
+
+        private final ZipSolveBudget budget;
+
+        private final ZipSearchStats stats = new ZipSearchStats();
+
+        private final ZipPruner pruner;
+
+        private final IntConsumer trace;
+
+        // Null without reachability checks
+        private final SolveScope scope;
+
+        private int deepestPath;
+
+        private DepthFirstSearch(final ZipSolveBudget budget,
+                                 final IntConsumer trace,
+                                 final boolean reachabilityChecks,
+                                 final CpuShare cpuShare) {
+            this.budget = budget;
+            this.pruner = new ZipPruner(zipBoard, budget);
+            this.trace = trace;
+            this.scope = reachabilityChecks ? SolveScope.open(cpuShare) : null;
         }
-        if (board[row][col] == nextNode) {
-            nextNode++;
+
+        private boolean run(final int[] path) {
+            try {
+                return find(getStartCell(), 1, 0, path, zipBoard.newMask());
+            } finally {
+                if (scope != null) {
+                    scope.close();
+                    stats.addScope(scope.getForked(), scope.getInline());
+                }
+                pruner.flush();
+                stats.add(pruner);
+                searchStats.add(stats);
+            }
         }
-        if (multiThreaded && !allNodesConnectable(nextNode, seen)) {
-            return;
+
+        // Works purely on cell indices and the seen bitmask, with no per-node allocation even when a
+        // visualization trace is attached.
+        private boolean find(final int cell,
+                             int nextNode,
+                             final int depth,
+                             final int[] path,
+                             final long[] seen) {
+            final int value = zipBoard.getValues()[cell];
+            if (ZipBoard.isSet(seen, cell) || (value != nextNode && value != 0)) {
+                return false;
+            }
+            if (value == nextNode) {
+                nextNode++;
+            }
+            path[depth] = cell;
+            deepestPath = Math.max(deepestPath, depth + 1);
+            ZipBoard.set(seen, cell);
+            if (depth + 1 == zipBoard.getCellCount()) {
+                if (trace != null) {
+                    trace.accept(cell);
+                }
+                return true;
+            }
+            // The single-pass pruner rejects most dead states before any reachability futures are scheduled
+            if (!pruner.isViable(cell, nextNode, seen) || (scope != null && !allNodesConnectable(nextNode, seen))) {
+                ZipBoard.clear(seen, cell);
+                return false;
+            }
+            if (trace != null) {
+                trace.accept(cell);
+            }
+            final int[] neighbors = zipBoard.getNeighbors();
+            final int base = cell * ZipBoard.DIRECTION_COUNT;
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+                final int next = neighbors[base + d];
+                if (next != ZipBoard.NO_NEIGHBOR && find(next, nextNode, depth + 1, path, seen)) {
+                    return true;
+                }
+            }
+            ZipBoard.clear(seen, cell);
+            if (trace != null) {
+                trace.accept(~cell);
+            }
+            return false;
         }
-        path.add(new Integer[]{row, col});
-        seen.add(seenKey);
-        for (int[] direction : DIRECTIONS) {
-            final Integer[] newLocation = new Integer[]{row + direction[0], col + direction[1]};
-            final String newLocationKey = newLocation[0] + "," + newLocation[1];
-            if (bannedMoves.getOrDefault(seenKey, new HashSet<>()).contains(newLocationKey)) {
-                continue;
-            }
-            dfsFindPath(newLocation, nextNode, path, seen, solution, multiThreaded);
+
+        private boolean allNodesConnectable(final int nextNode,
+                                            final long[] seen) {
+            final long start = System.nanoTime();
+            try {
+                return checkNodesConnectable(nextNode, seen);
+            } finally {
+                stats.addReachabilityCheck(System.nanoTime() - start);
+            }
         }
-        seen.remove(seenKey);
-        path.removeLast();
-    }
-
-    private boolean allNodesConnectable(final int nextNode,
-                                        final Set<String> seen) {
-        final HashSet<Future<Boolean>> futures = new HashSet<>();
-        for (int i = nextNode; i < maxNode; i++) {
-            final Integer[] nodeLocation = new Integer[]{nodeLocations.get(i)[0], nodeLocations.get(i)[1]};
-            final int endNode = i + 1;
-            if (cachedPaths.containsKey(endNode)) {
-                final Set<String> cachedPath = cachedPaths.get(endNode);
-                if (cachedPath.stream().anyMatch(seen::contains)) {
-                    cachedPaths.remove(endNode);
-                } else {
-                    cacheHits.incrementAndGet();
+
+        private boolean checkNodesConnectable(final int nextNode,
+                                              final long[] seen) {
+            final HashSet<Future<Boolean>> futures = new HashSet<>();
+            for (int i = nextNode; i < maxNode; i++) {
+                final int nodeCell = zipBoard.getCheckpointCells()[i];
+                final int endNode = i + 1;
+                if (pathCache.lookup(endNode, seen)) {
                     continue;
                 }
+                // Snapshot on the caller thread; the caller keeps mutating seen once we return
+                final long[] seenCopy = seen.clone();
+                final Future<Boolean> future = scope.fork(() -> pathExists(nodeCell, endNode, seenCopy, zipBoard.newMask()));
+                futures.add(future);
             }
-            cacheMisses.incrementAndGet();
-            final Future<Boolean> future = executor.submit(() -> pathExists(nodeLocation, endNode, new HashSet<>(seen), new HashSet<>()));
-            futures.add(future);
-        }
-        try {
-            for (Future<Boolean> future : futures) {
-                if (!future.get()) {
-                    futures.forEach(a -> a.cancel(true));
-                    return false;
+            try {
+                for (Future<Boolean> future : futures) {
+                    if (!future.get()) {
+                        futures.forEach(a -> a.cancel(true));
+                        // A check run inline gives up when this thread is interrupted, i.e. the caller gave up
+                        if (Thread.currentThread().isInterrupted()) {
+                            budget.cancel();
+                        }
+                        return false;
+                    }
                 }
+            } catch (InterruptedException e) {
+                // The caller gave up on this solve: stop the checks and let the search unwind
+                futures.forEach(a -> a.cancel(true));
+                budget.cancel();
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Reachability check failed", e.getCause());
             }
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Multithreading error");
-        }
-        return true;
-    }
-
-    private boolean pathExists(final Integer[] currentLocation,
-                               final Integer endNode,
-                               final Set<String> seen,
-                               final Set<String> path) {
-        final int row = currentLocation[0];
-        final int col = currentLocation[1];
-        final String seenKey = row + "," + col;
-        if (row < 0 || row == board.length ||
-                col < 0 || col == board[0].length ||
-                seen.contains(seenKey) ||
-                !Set.of(endNode, endNode - 1, 0).contains(board[row][col])) {
-            return false;
-        }
-        if (board[row][col] == endNode) {
-            cachedPaths.put(endNode, path);
             return true;
         }
-        seen.add(seenKey);
-        path.add(seenKey);
-        for (int[] direction : DIRECTIONS) {
-            final Integer[] newLocation = new Integer[]{row + direction[0], col + direction[1]};
-            final String newLocationKey = newLocation[0] + "," + newLocation[1];
-            if (bannedMoves.getOrDefault(seenKey, new HashSet<>()).contains(newLocationKey)) {
-                continue;
-            }
-            if (pathExists(newLocation, endNode, seen, path)) return true;
+
+        // Checks the budget and the interrupt flag at every cell, so cancelled checks stop promptly
+        private boolean pathExists(final int cell,
+                                   final int endNode,
+                                   final long[] seen,
+                                   final long[] path) {
+            if (budget.isStopped() || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            final int value = zipBoard.getValues()[cell];
+            if (ZipBoard.isSet(seen, cell) || (value != endNode && value != endNode - 1 && value != 0)) {
+                return false;
+            }
+            if (value == endNode) {
+                pathCache.store(endNode, path);
+                return true;
+            }
+            ZipBoard.set(seen, cell);
+            ZipBoard.set(path, cell);
+            final int[] neighbors = zipBoard.getNeighbors();
+            final int base = cell * ZipBoard.DIRECTION_COUNT;
+            for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+                final int next = neighbors[base + d];
+                if (next != ZipBoard.NO_NEIGHBOR && pathExists(next, endNode, seen, path)) return true;
+            }
+            ZipBoard.clear(path, cell);
+            return false;
         }
-        path.remove(seenKey);
-        return false;
     }
 
+    // Inverse of toCoordinates: the SolutionCache encoding of a path
+    public int[] toCells(final List<Integer[]> solution) {
+        final int[] path = new int[solution.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = zipBoard.cell(solution.get(i)[0], solution.get(i)[1]);
+        }
+        return path;
+    }
 
-    private Integer[] getStartLocation() {
-        for (int i = 0; i < board.length; i++) {
-            for (int j =0; j < board[i].length; j++) {
-                if (board[i][j] == 1) {
-                    return new Integer[]{i, j};
-                }
+    private List<Integer[]> toCoordinates(final int[] path) {
+        final List<Integer[]> solution = new ArrayList<>();
+        if (path != null) {
+            for (int cell : path) {
+                solution.add(new Integer[]{zipBoard.row(cell), zipBoard.col(cell)});
             }
         }
-        throw new RuntimeException("Start location of ZIP could not be found");
+        return solution;
+    }
+
+    int getStartCell() {
+        if (zipBoard.getStartCell() == ZipBoard.NO_NEIGHBOR) {
+            throw new RuntimeException("Start location of ZIP could not be found");
+        }
+        return zipBoard.getStartCell();
     }
 
     @Override
@@ -0,0 +1,180 @@
+package com.Zip;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+// Seeded generator of solvable Zip puzzles. A random Hamiltonian path is grown with backbite moves
+// starting from a serpentine, checkpoints are dropped along it in order, and walls are only placed
+// between neighbors the path never crosses, so every generated board has at least that solution.
+public class ZipPuzzleGenerator {
+
+    @AllArgsConstructor
+    @Getter
+    public enum Difficulty {
+        // Cells per checkpoint and share of non-path edges that become walls
+        EASY(4, 0.30),
+        MEDIUM(8, 0.15),
+        HARD(16, 0.05);
+
+        private final int cellsPerCheckpoint;
+
+        private final double wallDensity;
+    }
+
+    // Backbite moves per cell; enough to lose any trace of the starting serpentine
+    private static final int SHUFFLE_MOVES_PER_CELL = 20;
+
+    private static final int[][] DIRECTIONS = new int[][]{{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+
+    private final Random random;
+
+    public ZipPuzzleGenerator(final long seed) {
+        this.random = new Random(seed);
+    }
+
+    public ZipPuzzle generate(final int rows, final int cols, final Difficulty difficulty) {
+        if (rows < 1 || cols < 1) {
+            throw new IllegalArgumentException("Board must have at least one row and column: " + rows + "x" + cols);
+        }
+        final int[] path = randomHamiltonianPath(rows, cols);
+        final int cellCount = rows * cols;
+
+        final int[][] board = new int[rows][cols];
+        final HashMap<Integer, Integer[]> nodeLocations = new HashMap<>();
+        final int[] checkpointPositions = checkpointPositions(cellCount, difficulty);
+        for (int i = 0; i < checkpointPositions.length; i++) {
+            final int cell = path[checkpointPositions[i]];
+            board[cell / cols][cell % cols] = i + 1;
+            nodeLocations.put(i + 1, new Integer[]{cell / cols, cell % cols});
+        }
+
+        final int[] pathIndex = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            pathIndex[path[i]] = i;
+        }
+        final HashMap<String, Set<String>> bannedMoves = new HashMap<>();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                final int cell = row * cols + col;
+                // Only look right and down so each edge is considered once
+                if (col + 1 < cols) {
+                    maybeAddWall(bannedMoves, pathIndex, cell, cell + 1, cols, difficulty);
+                }
+                if (row + 1 < rows) {
+                    maybeAddWall(bannedMoves, pathIndex, cell, cell + cols, cols, difficulty);
+                }
+            }
+        }
+        return new ZipPuzzle(board, bannedMoves, nodeLocations, checkpointPositions.length);
+    }
+
+    // Renders the puzzle the way the LinkedIn page does, for feeding ZipPuzzleParser offline
+    public static String toHtml(final ZipPuzzle puzzle) {
+        final int[][] board = puzzle.getBoard();
+        final int rows = board.length;
+        final int cols = board[0].length;
+        final StringBuilder sb = new StringBuilder();
+        sb.append("<div class=\"grid-game-board\" style=\"--rows: ").append(rows)
+                .append("; --cols: ").append(cols).append(";\">");
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                sb.append("<div class=\"trail-cell\" data-cell-idx=\"").append(row * cols + col).append("\">");
+                if (board[row][col] != 0) {
+                    sb.append("<div class=\"trail-cell-content\">").append(board[row][col]).append("</div>");
+                }
+                final Set<String> walls = puzzle.getBannedMoves().getOrDefault(row + "," + col, Set.of());
+                if (walls.contains(row + "," + (col + 1))) {
+                    sb.append("<div class=\"trail-cell-wall trail-cell-wall--right\"></div>");
+                }
+                if (walls.contains((row + 1) + "," + col)) {
+                    sb.append("<div class=\"trail-cell-wall trail-cell-wall--down\"></div>");
+                }
+                sb.append("</div>");
+            }
+        }
+        sb.append("</div>");
+        return sb.toString();
+    }
+
+    private int[] checkpointPositions(final int cellCount, final Difficulty difficulty) {
+        final int checkpoints = Math.min(cellCount, Math.max(2, cellCount / difficulty.getCellsPerCheckpoint()));
+        // First and last cells of the path are always checkpoints (the same cell on a 1x1 board); the
+        // rest are distinct interior positions
+        final Set<Integer> positions = new HashSet<>();
+        positions.add(0);
+        positions.add(cellCount - 1);
+        while (positions.size() < checkpoints) {
+            positions.add(1 + random.nextInt(cellCount - 2));
+        }
+        final int[] sorted = positions.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private void maybeAddWall(final HashMap<String, Set<String>> bannedMoves,
+                              final int[] pathIndex,
+                              final int a,
+                              final int b,
+                              final int cols,
+                              final Difficulty difficulty) {
+        if (Math.abs(pathIndex[a] - pathIndex[b]) == 1 || random.nextDouble() >= difficulty.getWallDensity()) {
+            return;
+        }
+        final String keyA = (a / cols) + "," + (a % cols);
+        final String keyB = (b / cols) + "," + (b % cols);
+        bannedMoves.computeIfAbsent(keyA, k -> new HashSet<>()).add(keyB);
+        bannedMoves.computeIfAbsent(keyB, k -> new HashSet<>()).add(keyA);
+    }
+
+    private int[] randomHamiltonianPath(final int rows, final int cols) {
+        final int cellCount = rows * cols;
+        final int[] path = new int[cellCount];
+        final int[] pathIndex = new int[cellCount];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                final int i = row * cols + col;
+                path[i] = row * cols + (row % 2 == 0 ? col : cols - 1 - col);
+                pathIndex[path[i]] = i;
+            }
+        }
+        if (cellCount < 3) {
+            return path;
+        }
+        for (int move = 0; move < SHUFFLE_MOVES_PER_CELL * cellCount; move++) {
+            final boolean fromEnd = random.nextBoolean();
+            final int end = fromEnd ? path[cellCount - 1] : path[0];
+            final int[] direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            final int row = end / cols + direction[0];
+            final int col = end % cols + direction[1];
+            if (row < 0 || row >= rows || col < 0 || col >= cols) {
+                continue;
+            }
+            final int i = pathIndex[row * cols + col];
+            // Backbite: join the endpoint to its neighbor at i and reverse the stretch that follows
+            if (fromEnd && i < cellCount - 2) {
+                reverse(path, pathIndex, i + 1, cellCount - 1);
+            } else if (!fromEnd && i > 1) {
+                reverse(path, pathIndex, 0, i - 1);
+            }
+        }
+        return path;
+    }
+
+    private static void reverse(final int[] path, final int[] pathIndex, int from, int to) {
+        while (from < to) {
+            final int tmp = path[from];
+            path[from] = path[to];
+            path[to] = tmp;
+            pathIndex[path[from]] = from;
+            pathIndex[path[to]] = to;
+            from++;
+            to--;
+        }
+    }
+}
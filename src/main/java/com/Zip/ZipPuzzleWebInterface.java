@@ -1,120 +1,141 @@
 package com.Zip;
 
+import com.Utils.BrowserPool;
+import com.Utils.GamePage;
+import com.Utils.KeyPlayback;
+import com.Utils.KeySequence;
+import com.Utils.PhaseTimings;
+import com.Utils.PuzzlePages;
+import com.Utils.PuzzleArchive;
+import com.Utils.PuzzleTask;
 import com.Utils.PuzzleType;
+import com.Utils.ReplayControl;
+import com.Utils.SolutionCache;
+import com.Utils.SolverEngines;
+import com.Utils.SolverMetrics;
+import com.Utils.TraceBuffer;
+import com.Utils.TraceReplay;
 import lombok.AllArgsConstructor;
-import org.openqa.selenium.By;
+import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.function.BiConsumer;
 
+@Slf4j
 @Component
 @AllArgsConstructor
 public class ZipPuzzleWebInterface {
 
-    private static final String URL = PuzzleType.ZIP.getUrl();
+    // TABs that reach the start button when it cannot be clicked directly
+    private static final int LANDING_PAGE_TABS = 5;
 
     private final ZipPuzzleParser zipPuzzleParser;
 
+    private final BrowserPool browserPool;
+
+    private final PuzzlePages puzzlePages;
+
+    private final KeyPlayback keyPlayback;
+
+    private final GamePage gamePage;
+
+    private final SolutionCache solutionCache;
+
+    private final SolverMetrics solverMetrics;
+
+    private final ReplayControl replayControl;
+
+    private final ZipSolverEngines zipSolverEngines;
+
+    private final PuzzleArchive puzzleArchive;
+
     public void fetchAndSubmit() {
-        withPuzzle((puzzle, actions) -> {
-            List<Integer[]> solution = puzzle.getSolution();
-
-            // Send arrow keys for each step in the solution path
-            for (int i = 1; i < solution.size(); i++) {
-                int rowDiff = solution.get(i)[0] - solution.get(i - 1)[0];
-                int colDiff = solution.get(i)[1] - solution.get(i - 1)[1];
-                actions.sendKeys(toArrowKey(rowDiff, colDiff)).perform();
-            }
+        withPuzzle((puzzle, actions, timings) -> {
+            List<Integer[]> solution = puzzle.getCachedSolution(solutionCache, () -> zipSolverEngines.solve(puzzle, SolverEngines.AUTO));
+            timings.mark("solve");
+
+            // Send every arrow key of the solution path in a single chained action
+            keyPlayback.play(actions, compileKeys(solution));
+            timings.mark("playback");
+            return puzzle.toCells(solution);
         });
     }
 
-    public void visualizeAlgorithm(boolean multiThreaded) {
-        withPuzzle((puzzle, actions) -> {
-            // Observable path that sends arrow keys on add and reverse arrow keys on removeLast
-            List<Integer[]> observablePath = new ArrayList<>() {
-                @Override
-                public boolean add(Integer[] element) {
-                    boolean result = super.add(element);
-                    if (size() > 1) {
-                        Integer[] prev = get(size() - 2);
-                        int rowDiff = element[0] - prev[0];
-                        int colDiff = element[1] - prev[1];
-                        actions.sendKeys(toArrowKey(rowDiff, colDiff)).perform();
-                    }
-                    return result;
-                }
-
-                @Override
-                public Integer[] removeLast() {
-                    Integer[] removed = super.removeLast();
-                    if (!isEmpty()) {
-                        Integer[] target = getLast();
-                        int rowDiff = target[0] - removed[0];
-                        int colDiff = target[1] - removed[1];
-                        actions.sendKeys(toArrowKey(rowDiff, colDiff)).perform();
-                    }
-                    return removed;
-                }
-            };
+    static KeySequence compileKeys(List<Integer[]> solution) {
+        KeySequence keys = new KeySequence();
+        for (int i = 1; i < solution.size(); i++) {
+            int rowDiff = solution.get(i)[0] - solution.get(i - 1)[0];
+            int colDiff = solution.get(i)[1] - solution.get(i - 1)[1];
+            keys.add(toArrowKey(rowDiff, colDiff));
+        }
+        return keys;
+    }
 
-            // Run the DFS with the observable path so the browser mirrors every step
-            puzzle.visualizeSolution(observablePath, multiThreaded);
+    public void visualizeAlgorithm(boolean multiThreaded) {
+        withPuzzle((puzzle, actions, timings) -> {
+            // The search streams its moves into a ring buffer and runs at full speed; a separate
+            // player drains the buffer into the browser at the replay speed
+            TraceBuffer buffer = new TraceBuffer(TraceBuffer.DEFAULT_CAPACITY);
+            ZipTracePlayer player = new ZipTracePlayer(puzzle.getZipBoard(), buffer, keys -> keyPlayback.play(actions, keys), replayControl);
+            replayControl.beginReplay();
+            TraceReplay.run(buffer, player, () -> puzzle.visualizeSolution(buffer, multiThreaded), timings);
+            log.info("Replayed {} moves", player.getKeysSent());
             if (multiThreaded) {
-                System.out.println("Cache hit: " + 100 * puzzle.getCacheHits().get() / (puzzle.getCacheMisses().get() + puzzle.getCacheHits().get()) + "%");
+                log.info("Path cache: {}", puzzle.getPathCache());
             }
+            return null;
         });
     }
 
-    private void withPuzzle(BiConsumer<ZipPuzzle, Actions> task) {
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--no-sandbox", "--start-maximized");
-        WebDriver driver = new ChromeDriver(options);
-        try {
-            driver.get(URL);
+    private void withPuzzle(PuzzleTask<ZipPuzzle> task) {
+        PhaseTimings timings = new PhaseTimings();
+        ZipPuzzle puzzle = null;
+        int[] solution = null;
+        try (BrowserPool.Lease lease = browserPool.lease()) {
+            try {
+                WebDriver driver = lease.getDriver();
+                timings.mark("driverStart");
 
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(100));
+                // Navigate, switch into the game iframe and wait for the board to render
+                WebElement board = gamePage.open(driver, puzzlePages.urlFor(PuzzleType.ZIP), timings);
 
-            // Switch into the game iframe
-            wait.until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(
-                    By.cssSelector("iframe.game-launch-page__iframe")));
+                // Parse the puzzle from the live board
+                String html = board.getAttribute("outerHTML");
+                puzzle = zipPuzzleParser.parse(html);
+                timings.mark("parse");
 
-            // Wait for the grid-game-board to render
-            WebElement board = wait.until(
-                    ExpectedConditions.presenceOfElementLocated(By.cssSelector(".grid-game-board")));
+                // Use Actions to send keys directly to the browser
+                Actions actions = new Actions(driver);
 
-            // Parse the puzzle from the live board
-            String html = board.getAttribute("outerHTML");
-            ZipPuzzle puzzle = zipPuzzleParser.parse(html);
+                // Get past the landing page and start the puzzle
+                gamePage.start(driver, actions, LANDING_PAGE_TABS, timings);
 
-            // Use Actions to send keys directly to the browser
-            Actions actions = new Actions(driver);
+                solution = task.run(puzzle, actions, timings);
+                puzzle.reportMetrics(solverMetrics);
 
-            // Press Tab then Enter to get past the landing page and start the puzzle
-            actions.sendKeys(Keys.TAB, Keys.TAB, Keys.TAB, Keys.TAB, Keys.TAB).perform();
-            actions.sendKeys(Keys.ENTER).perform();
-
-            task.accept(puzzle, actions);
-
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+                if (!gamePage.awaitCompletion(driver, timings)) {
+                    solverMetrics.increment("zip.completion.missing", 1);
+                    log.warn("Zip completion banner did not appear");
+                }
+                log.info("Zip timings: {}", timings);
+            } catch (RuntimeException e) {
+                // A session that failed mid-task is quit and replaced, not handed to the next solve
+                lease.invalidateIfBrowserFailed(e);
+                throw e;
+            }
         } finally {
-            driver.quit();
+            solverMetrics.recordPhases("zip.phase", timings);
+            if (puzzle != null) {
+                puzzleArchive.append(PuzzleType.ZIP, puzzle.fingerprint(), puzzle.toLayout(), solution, timings);
+            }
         }
     }
 
-    private Keys toArrowKey(int rowDiff, int colDiff) {
+    static Keys toArrowKey(int rowDiff, int colDiff) {
         if (rowDiff == -1) return Keys.ARROW_UP;
         if (rowDiff == 1) return Keys.ARROW_DOWN;
         if (colDiff == -1) return Keys.ARROW_LEFT;
@@ -0,0 +1,113 @@
+package com.Zip;
+
+import com.Utils.SolverMetrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Search effort spent on one puzzle, summed over every solve and worker. Pruners and solvers
+// count locally and add their totals here once they finish.
+public class ZipSearchStats {
+
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder pruned = new LongAdder();
+    private final LongAdder reachabilityChecks = new LongAdder();
+    private final LongAdder reachabilityNanos = new LongAdder();
+    private final LongAdder segmentMemoHits = new LongAdder();
+    private final LongAdder segmentMemoEntries = new LongAdder();
+    private final LongAdder scopeForked = new LongAdder();
+    private final LongAdder scopeInline = new LongAdder();
+
+    public void add(final ZipPruner pruner) {
+        nodes.add(pruner.getChecks());
+        pruned.add(pruner.getRejections());
+    }
+
+    public void add(final long searchNodes, final long prunedBranches) {
+        nodes.add(searchNodes);
+        pruned.add(prunedBranches);
+    }
+
+    // Folds in the counters of one solve
+    public void add(final ZipSearchStats solve) {
+        nodes.add(solve.getNodes());
+        pruned.add(solve.getPruned());
+        reachabilityChecks.add(solve.getReachabilityChecks());
+        reachabilityNanos.add(solve.getReachabilityNanos());
+        segmentMemoHits.add(solve.getSegmentMemoHits());
+        segmentMemoEntries.add(solve.getSegmentMemoEntries());
+        scopeForked.add(solve.getScopeForked());
+        scopeInline.add(solve.getScopeInline());
+    }
+
+    // Reachability checks run on a worker thread of the solve's scope, and those run inline because
+    // the solve had used up its share of the cores
+    public void addScope(final long forked, final long inline) {
+        scopeForked.add(forked);
+        scopeInline.add(inline);
+    }
+
+    public void addReachabilityCheck(final long nanos) {
+        reachabilityChecks.increment();
+        reachabilityNanos.add(nanos);
+    }
+
+    public void addSegmentMemo(final long hits, final long entries) {
+        segmentMemoHits.add(hits);
+        segmentMemoEntries.add(entries);
+    }
+
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    public long getPruned() {
+        return pruned.sum();
+    }
+
+    public long getReachabilityChecks() {
+        return reachabilityChecks.sum();
+    }
+
+    public long getReachabilityNanos() {
+        return reachabilityNanos.sum();
+    }
+
+    public long getSegmentMemoHits() {
+        return segmentMemoHits.sum();
+    }
+
+    public long getSegmentMemoEntries() {
+        return segmentMemoEntries.sum();
+    }
+
+    public long getScopeForked() {
+        return scopeForked.sum();
+    }
+
+    public long getScopeInline() {
+        return scopeInline.sum();
+    }
+
+    public void reportTo(final SolverMetrics metrics, final ZipPathCache pathCache) {
+        metrics.increment("zip.nodes", getNodes());
+        metrics.increment("zip.pruned", getPruned());
+        metrics.increment("zip.reachability.checks", getReachabilityChecks());
+        metrics.increment("zip.reachability.nanos", getReachabilityNanos());
+        metrics.increment("zip.segmentMemo.hits", getSegmentMemoHits());
+        metrics.increment("zip.segmentMemo.entries", getSegmentMemoEntries());
+        metrics.increment("zip.scope.forked", getScopeForked());
+        metrics.increment("zip.scope.inline", getScopeInline());
+        metrics.increment("zip.pathCache.hits", pathCache.getHits());
+        metrics.increment("zip.pathCache.misses", pathCache.getMisses());
+        metrics.increment("zip.pathCache.evictions", pathCache.getEvictions());
+        metrics.increment("zip.pathCache.invalidations", pathCache.getInvalidations());
+    }
+
+    @Override
+    public String toString() {
+        return "nodes=" + getNodes() + ", pruned=" + getPruned() + ", reachabilityChecks=" + getReachabilityChecks()
+                + ", reachabilityMillis=" + getReachabilityNanos() / 1_000_000
+                + ", segmentMemoHits=" + getSegmentMemoHits() + ", segmentMemoEntries=" + getSegmentMemoEntries()
+                + ", scopeForked=" + getScopeForked() + ", scopeInline=" + getScopeInline();
+    }
+}
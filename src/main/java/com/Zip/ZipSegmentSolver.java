@@ -0,0 +1,185 @@
+package com.Zip;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+// Searches the path one checkpoint segment at a time. Once the path reaches checkpoint k, whether
+// the rest of it can be completed depends only on k and the set of cells already visited, not on
+// the order they were visited in. Every (k, visited) state that is proven to fail is remembered,
+// so identical suffixes reached through different prefixes are never searched twice. The memo is
+// bounded; once full the solver keeps searching without recording new failures. Not thread-safe;
+// create one per solve.
+public class ZipSegmentSolver {
+
+    public static final int DEFAULT_MAX_MEMO_ENTRIES = 1 << 18;
+
+    private final ZipBoard zipBoard;
+
+    private final ZipPruner pruner;
+
+    private final ZipSearchStats stats;
+
+    private final int maxMemoEntries;
+
+    // failed[k] holds the visited masks with which the path cannot be finished from checkpoint k
+    private final HashSet<VisitedCells>[] failed;
+
+    private int memoEntries;
+
+    private long memoHits;
+
+    private final int[] path;
+
+    private final long[] seen;
+
+    // Candidates of the cell at each depth, ordered as in ZipIterativeSolver, and their sort keys
+    private final int[] candidates;
+    private final int[] candidateKeys = new int[ZipBoard.DIRECTION_COUNT];
+
+    public ZipSegmentSolver(final ZipBoard zipBoard) {
+        this(zipBoard, new ZipSearchStats(), DEFAULT_MAX_MEMO_ENTRIES);
+    }
+
+    public ZipSegmentSolver(final ZipBoard zipBoard, final ZipSearchStats stats, final int maxMemoEntries) {
+        this(zipBoard, stats, maxMemoEntries, ZipSolveBudget.unlimited());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ZipSegmentSolver(final ZipBoard zipBoard,
+                            final ZipSearchStats stats,
+                            final int maxMemoEntries,
+                            final ZipSolveBudget budget) {
+        this.zipBoard = zipBoard;
+        this.pruner = new ZipPruner(zipBoard, budget);
+        this.stats = stats;
+        this.maxMemoEntries = maxMemoEntries;
+        this.failed = new HashSet[zipBoard.getMaxNode() + 1];
+        for (int k = 0; k < failed.length; k++) {
+            failed[k] = new HashSet<>();
+        }
+        this.path = new int[zipBoard.getCellCount()];
+        this.seen = zipBoard.newMask();
+        this.candidates = new int[zipBoard.getCellCount() * ZipBoard.DIRECTION_COUNT];
+    }
+
+    public int[] solve(final int startCell) {
+        try {
+            if (zipBoard.getValues()[startCell] != 1) {
+                return null;
+            }
+            path[0] = startCell;
+            ZipBoard.set(seen, startCell);
+            return fromCheckpoint(1, 0) ? path.clone() : null;
+        } finally {
+            pruner.flush();
+            stats.add(pruner);
+            stats.addSegmentMemo(memoHits, memoEntries);
+        }
+    }
+
+    public long getMemoHits() {
+        return memoHits;
+    }
+
+    public int getMemoEntries() {
+        return memoEntries;
+    }
+
+    // The path has just entered checkpoint k at path[depth]
+    private boolean fromCheckpoint(final int k, final int depth) {
+        if (depth + 1 == zipBoard.getCellCount()) {
+            return true;
+        }
+        if (failed[k].contains(new VisitedCells(seen))) {
+            memoHits++;
+            return false;
+        }
+        if (!pruner.isViable(path[depth], k + 1, seen)) {
+            return false;
+        }
+        if (extend(k + 1, depth)) {
+            return true;
+        }
+        // The search put seen back the way it found it, so this is the state we were called with
+        if (memoEntries < maxMemoEntries) {
+            failed[k].add(new VisitedCells(seen.clone()));
+            memoEntries++;
+        }
+        return false;
+    }
+
+    // Grows the path from path[depth] through empty cells until it enters checkpoint nextNode
+    private boolean extend(final int nextNode, final int depth) {
+        final int[] values = zipBoard.getValues();
+        final int offset = depth * ZipBoard.DIRECTION_COUNT;
+        final int count = orderCandidates(nextNode, depth);
+        for (int i = 0; i < count; i++) {
+            final int next = candidates[offset + i];
+            path[depth + 1] = next;
+            ZipBoard.set(seen, next);
+            final boolean found;
+            if (values[next] == nextNode) {
+                found = fromCheckpoint(nextNode, depth + 1);
+            } else if (depth + 2 == zipBoard.getCellCount()) {
+                found = true;
+            } else {
+                found = pruner.isViable(next, nextNode, seen) && extend(nextNode, depth + 1);
+            }
+            if (found) {
+                return true;
+            }
+            ZipBoard.clear(seen, next);
+        }
+        return false;
+    }
+
+    // Fewest onward exits first, ties broken by distance to the checkpoint this segment heads for
+    private int orderCandidates(final int nextNode, final int depth) {
+        final int[] values = zipBoard.getValues();
+        final int cell = path[depth];
+        final int target = nextNode <= zipBoard.getMaxNode() ? zipBoard.getCheckpointCells()[nextNode] : ZipBoard.NO_NEIGHBOR;
+        final int exitWeight = zipBoard.getRows() + zipBoard.getCols() + 1;
+        final int offset = depth * ZipBoard.DIRECTION_COUNT;
+        int count = 0;
+        for (int d = 0; d < ZipBoard.DIRECTION_COUNT; d++) {
+            final int next = zipBoard.neighbor(cell, d);
+            if (next == ZipBoard.NO_NEIGHBOR || ZipBoard.isSet(seen, next)
+                    || (values[next] != 0 && values[next] != nextNode)) {
+                continue;
+            }
+            final int key = zipBoard.onwardExits(next, seen) * exitWeight + zipBoard.distance(next, target);
+            int i = count++;
+            while (i > 0 && candidateKeys[i - 1] > key) {
+                candidateKeys[i] = candidateKeys[i - 1];
+                candidates[offset + i] = candidates[offset + i - 1];
+                i--;
+            }
+            candidateKeys[i] = key;
+            candidates[offset + i] = next;
+        }
+        return count;
+    }
+
+    // Visited mask as a hash key; the hash is taken once, so a key must not change after it is stored
+    private static final class VisitedCells {
+
+        private final long[] mask;
+
+        private final int hash;
+
+        private VisitedCells(final long[] mask) {
+            this.mask = mask;
+            this.hash = Arrays.hashCode(mask);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof VisitedCells other && hash == other.hash && Arrays.equals(mask, other.mask);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
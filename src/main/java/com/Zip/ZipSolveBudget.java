@@ -0,0 +1,69 @@
+package com.Zip;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time and node allowance for one solve, shared by every thread working on it. Searches charge the
+// nodes they expand in batches and poll isStopped() at every node. The budget stops for good once
+// the deadline passes, the node limit is reached, the thread that created it is interrupted (e.g.
+// by SolveGate giving up on the request) or cancel() is called, and every worker unwinds at its
+// next node.
+public class ZipSolveBudget {
+
+    // Nodes a worker expands between charges, which is also how often the clock is read
+    public static final int CHARGE_INTERVAL = 1024;
+
+    private final long startNanos = System.nanoTime();
+
+    // 0 when there is no such limit
+    private final long deadlineNanos;
+    private final long maxNodes;
+
+    private final Thread owner = Thread.currentThread();
+
+    private final AtomicLong nodes = new AtomicLong();
+
+    private volatile boolean stopped;
+
+    public ZipSolveBudget(final long deadlineMillis, final long maxNodes) {
+        this.deadlineNanos = deadlineMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(deadlineMillis) : 0;
+        this.maxNodes = maxNodes;
+    }
+
+    // No limits, but still stops when the solving thread is interrupted
+    public static ZipSolveBudget unlimited() {
+        return new ZipSolveBudget(0, 0);
+    }
+
+    // Adds expanded nodes and checks every limit; false once the budget has stopped
+    public boolean charge(final long expanded) {
+        final long total = nodes.addAndGet(expanded);
+        if ((maxNodes > 0 && total >= maxNodes)
+                || (deadlineNanos > 0 && System.nanoTime() - startNanos >= deadlineNanos)
+                || owner.isInterrupted()) {
+            stopped = true;
+        }
+        return !stopped;
+    }
+
+    // Counts nodes expanded after the last charge without checking the limits again
+    public void record(final long expanded) {
+        nodes.addAndGet(expanded);
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public void cancel() {
+        stopped = true;
+    }
+
+    public long getNodes() {
+        return nodes.get();
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
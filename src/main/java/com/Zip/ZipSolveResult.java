@@ -0,0 +1,48 @@
+package com.Zip;
+
+import com.Utils.SolverMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class ZipSolveResult {
+
+    public enum Status {
+        SOLVED,
+        UNSOLVABLE,
+        // Deadline, node limit or cancellation stopped the search before it finished
+        BUDGET_EXCEEDED
+    }
+
+    private final Status status;
+
+    // Cell indices from checkpoint 1 onwards, null unless solved
+    private final int[] path;
+
+    // Search nodes expanded by every thread of the solve
+    private final long nodes;
+
+    // Longest partial path the search reached, in cells
+    private final int deepestPath;
+
+    private final long elapsedNanos;
+
+    // Every counter of this solve alone
+    private final ZipSearchStats stats;
+
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    public void reportTo(SolverMetrics metrics) {
+        metrics.increment("zip.solves", 1);
+        metrics.increment("zip.status." + status.name().toLowerCase(), 1);
+    }
+
+    @Override
+    public String toString() {
+        return status + " (nodes=" + nodes + ", deepestPath=" + deepestPath
+                + ", elapsedMillis=" + elapsedNanos / 1_000_000 + ")";
+    }
+}
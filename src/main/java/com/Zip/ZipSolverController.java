@@ -0,0 +1,144 @@
+package com.Zip;
+
+import com.Utils.SolutionCache;
+import com.Utils.SolveGate;
+import com.Utils.SolverMetrics;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Solves Zip boards over HTTP, either from a JSON grid or from the board HTML of the game page
+@RestController
+@RequestMapping("/api/zip")
+@AllArgsConstructor
+public class ZipSolverController {
+
+    // Far beyond any game board; the solvers size their arrays by cells and checkpoints
+    static final int MAX_CELLS = 32 * 32;
+
+    private final ZipPuzzleParser zipPuzzleParser;
+
+    private final SolveGate solveGate;
+
+    private final SolutionCache solutionCache;
+
+    private final SolverMetrics solverMetrics;
+
+    private final ZipSolverEngines zipSolverEngines;
+
+    // board holds checkpoint numbers (0 for empty cells); each wall is {row1, col1, row2, col2}
+    public record SolveRequest(int[][] board, List<int[]> walls) {
+    }
+
+    // path lists {row, col} pairs from checkpoint 1 onwards
+    public record SolveResponse(List<Integer[]> path, long elapsedMicros) {
+    }
+
+    @PostMapping(path = "/solve", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public SolveResponse solve(@RequestBody SolveRequest request,
+                               @RequestParam(required = false) Long deadlineMillis,
+                               @RequestParam(required = false) String engine) {
+        return solveGate.run(deadlineMillis, () -> solve(toPuzzle(request), engine));
+    }
+
+    @PostMapping(path = "/solve", consumes = {MediaType.TEXT_HTML_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public SolveResponse solveHtml(@RequestBody String html,
+                                   @RequestParam(required = false) Long deadlineMillis,
+                                   @RequestParam(required = false) String engine) {
+        return solveGate.run(deadlineMillis, () -> {
+            final ZipPuzzle puzzle;
+            try {
+                puzzle = zipPuzzleParser.parse(html);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+            return solve(puzzle, engine);
+        });
+    }
+
+    // engine names one of the ZipSolverEngines; null or "auto" lets the cost model choose
+    private SolveResponse solve(ZipPuzzle puzzle, String engine) {
+        final long start = System.nanoTime();
+        final List<Integer[]> path;
+        try {
+            path = puzzle.getCachedSolution(solutionCache, () -> zipSolverEngines.solve(puzzle, engine));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        final long elapsed = System.nanoTime() - start;
+        solverMetrics.record("zip.api.solve", elapsed);
+        puzzle.reportMetrics(solverMetrics);
+        if (path.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_CONTENT, "Zip board has no solution");
+        }
+        return new SolveResponse(path, TimeUnit.NANOSECONDS.toMicros(elapsed));
+    }
+
+    static ZipPuzzle toPuzzle(SolveRequest request) {
+        final int[][] board = request.board();
+        if (board == null || board.length == 0 || board[0] == null || board[0].length == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "board must be a non-empty grid");
+        }
+        final int rows = board.length;
+        final int cols = board[0].length;
+        if ((long) rows * cols > MAX_CELLS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "board must have at most " + MAX_CELLS + " cells");
+        }
+        final HashMap<Integer, Integer[]> nodeLocations = new HashMap<>();
+        int maxNode = 0;
+        for (int row = 0; row < rows; row++) {
+            if (board[row] == null || board[row].length != cols) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "board rows must all have " + cols + " cells");
+            }
+            for (int col = 0; col < cols; col++) {
+                final int value = board[row][col];
+                if (value < 0 || value > rows * cols) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "checkpoint " + value + " is out of range");
+                }
+                if (value > 0 && nodeLocations.put(value, new Integer[]{row, col}) != null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "checkpoint " + value + " appears more than once");
+                }
+                maxNode = Math.max(maxNode, value);
+            }
+        }
+        // The values are distinct and at most maxNode, so 1..maxNode are all there when there are
+        // maxNode of them
+        if (maxNode == 0 || nodeLocations.size() != maxNode) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "checkpoints must be numbered 1 to " + Math.max(1, maxNode) + " without gaps");
+        }
+
+        final HashMap<String, Set<String>> bannedMoves = new HashMap<>();
+        if (request.walls() != null) {
+            for (int[] wall : request.walls()) {
+                if (wall == null || wall.length != 4) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "walls must be {row1, col1, row2, col2}");
+                }
+                if (!onBoard(wall[0], wall[1], rows, cols) || !onBoard(wall[2], wall[3], rows, cols)
+                        || Math.abs(wall[0] - wall[2]) + Math.abs(wall[1] - wall[3]) != 1) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "walls must join two adjacent cells of the board");
+                }
+                final String a = wall[0] + "," + wall[1];
+                final String b = wall[2] + "," + wall[3];
+                bannedMoves.computeIfAbsent(a, k -> new HashSet<>()).add(b);
+                bannedMoves.computeIfAbsent(b, k -> new HashSet<>()).add(a);
+            }
+        }
+        return new ZipPuzzle(board, bannedMoves, nodeLocations, maxNode);
+    }
+
+    private static boolean onBoard(int row, int col, int rows, int cols) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+}
@@ -0,0 +1,111 @@
+package com.Zip;
+
+import com.Utils.BoardFeatures;
+import com.Utils.CpuShare;
+import com.Utils.PuzzleType;
+import com.Utils.SolverCostModel;
+import com.Utils.SolverEngine;
+import com.Utils.SolverEngines;
+import com.Utils.SolverMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Zip engines, each returning the solution as cell indices or null when there is none:
+//  - dfs: recursive search with the single-pass pruner
+//  - dfs-reachability: dfs plus parallel checkpoint-to-checkpoint reachability checks
+//  - iterative: explicit-stack search with Warnsdorff move ordering
+//  - segment: checkpoint-by-checkpoint search with memoized failures
+//  - parallel: fork/join search of the whole tree, on a pool sized to the solve's share of the cores
+//  - edge: constraint propagation over the edges between cells, falling back to dfs (see solveEdges)
+// After start-up every engine is timed in the background on a handful of generated boards of mixed
+// size and difficulty, so the cost model has samples early without holding up the context; until
+// then AUTO measures engines on live boards. solver.engine.calibration-boards=0 turns it off.
+@Component
+public class ZipSolverEngines extends SolverEngines<ZipPuzzle, int[]> implements InitializingBean, DisposableBean {
+
+    private static final int MIN_CALIBRATION_SIZE = 5;
+
+    private static final int CALIBRATION_SIZES = 4;
+
+    private final int calibrationBoards;
+
+    private Thread calibration;
+
+    @Autowired
+    public ZipSolverEngines(SolverCostModel costModel,
+                            SolverMetrics solverMetrics,
+                            @Value("${solver.engine.calibration-boards:8}") int calibrationBoards) {
+        super(PuzzleType.ZIP, List.of(
+                SolverEngine.of("dfs", puzzle -> puzzle.solvePath(false)),
+                SolverEngine.of("dfs-reachability", puzzle -> puzzle.solvePath(true)),
+                SolverEngine.of("iterative", puzzle -> puzzle.withSolveStats(stats ->
+                        new ZipIterativeSolver(puzzle.getZipBoard(), stats).solve(puzzle.getStartCell()))),
+                SolverEngine.of("segment", puzzle -> puzzle.withSolveStats(stats ->
+                        new ZipSegmentSolver(puzzle.getZipBoard(), stats, ZipSegmentSolver.DEFAULT_MAX_MEMO_ENTRIES)
+                                .solve(puzzle.getStartCell()))),
+                SolverEngine.of("parallel", puzzle -> puzzle.solveParallel(ZipSolveBudget.unlimited(), CpuShare.machine())),
+                SolverEngine.of("edge", ZipSolverEngines::solveEdges)
+        ), ZipSolverEngines::features, costModel, solverMetrics);
+        this.calibrationBoards = calibrationBoards;
+    }
+
+    @Override
+    public synchronized void afterPropertiesSet() {
+        if (calibrationBoards > 0) {
+            calibration = Thread.ofVirtual().name("zip-engine-calibration").start(this::calibrateOnGeneratedBoards);
+        }
+    }
+
+    void calibrateOnGeneratedBoards() {
+        calibrate(i -> {
+            final int size = MIN_CALIBRATION_SIZE + i % CALIBRATION_SIZES;
+            final ZipPuzzleGenerator.Difficulty[] difficulties = ZipPuzzleGenerator.Difficulty.values();
+            return new ZipPuzzleGenerator(i).generate(size, size, difficulties[i % difficulties.length]);
+        }, calibrationBoards);
+    }
+
+    @Override
+    public void destroy() {
+        final Thread thread;
+        synchronized (this) {
+            thread = calibration;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // The edge model only finds paths that end on the last checkpoint, and needs two checkpoints,
+    // while the other engines also accept a path that runs on past it. When it finds none the dfs
+    // search decides, so AUTO's choice of engine never changes whether a board has a solution.
+    static int[] solveEdges(ZipPuzzle puzzle) {
+        final int[] path = puzzle.withSolveStats(stats ->
+                new ZipEdgeSolver(puzzle.getZipBoard(), stats).solve(puzzle.getStartCell()));
+        return path != null ? path : puzzle.solvePath(false);
+    }
+
+    static BoardFeatures features(ZipPuzzle puzzle) {
+        final ZipBoard zipBoard = puzzle.getZipBoard();
+        int walls = 0;
+        for (int cell = 0; cell < zipBoard.getCellCount(); cell++) {
+            // Right and down only, so every edge is counted once
+            if (zipBoard.col(cell) + 1 < zipBoard.getCols() && zipBoard.neighbor(cell, 0) == ZipBoard.NO_NEIGHBOR) {
+                walls++;
+            }
+            if (zipBoard.row(cell) + 1 < zipBoard.getRows() && zipBoard.neighbor(cell, 1) == ZipBoard.NO_NEIGHBOR) {
+                walls++;
+            }
+        }
+        return new BoardFeatures(zipBoard.getCellCount(), zipBoard.getMaxNode(), walls);
+    }
+}
@@ -0,0 +1,126 @@
+package com.Zip;
+
+import com.Utils.KeySequence;
+import com.Utils.ReplayControl;
+import com.Utils.ReplayPacer;
+import com.Utils.TraceBuffer;
+
+import java.util.function.Consumer;
+
+// Replays a TraceBuffer as arrow keys at a controllable rate. Events waiting to be shown are
+// coalesced first: entering a cell and immediately backing out of it again cancel out, so dead
+// ends the search abandons before the display catches up never reach the browser. Every key that
+// is sent still moves between cells the search really visited, in the order it visited them.
+// Speed and skip-to-end come from a ReplayControl and are re-read on every tick (see ReplayPacer).
+public class ZipTracePlayer implements Runnable {
+
+    private final ZipBoard zipBoard;
+
+    private final TraceBuffer buffer;
+
+    private final Consumer<KeySequence> output;
+
+    // Events drained from the buffer but not yet shown, oldest first
+    private final int[] pending;
+    private int pendingStart;
+    private int pendingEnd;
+
+    // Cells currently shown in the browser, start cell first
+    private final int[] shown;
+    private int shownSize;
+
+    private final int[] scratch;
+
+    private final ReplayControl control;
+
+    private long keysSent;
+
+    public ZipTracePlayer(final ZipBoard zipBoard,
+                          final TraceBuffer buffer,
+                          final Consumer<KeySequence> output,
+                          final ReplayControl control) {
+        this.zipBoard = zipBoard;
+        this.buffer = buffer;
+        this.output = output;
+        this.control = control;
+        this.pending = new int[Math.max(4 * zipBoard.getCellCount(), 1024)];
+        this.shown = new int[zipBoard.getCellCount()];
+        this.scratch = new int[pending.length];
+    }
+
+    public long getKeysSent() {
+        return keysSent;
+    }
+
+    @Override
+    public void run() {
+        try {
+            final ReplayPacer pacer = new ReplayPacer(control);
+            while (!buffer.isCancelled()) {
+                final boolean producerDone = buffer.isClosed();
+                fill();
+                if (producerDone && buffer.isEmpty() && pendingStart == pendingEnd) {
+                    return;
+                }
+                final int budget = pacer.nextBudget();
+                pacer.await(budget, play(budget));
+            }
+        } catch (RuntimeException e) {
+            buffer.cancel();
+            throw e;
+        }
+    }
+
+    // Moves events from the buffer into pending, cancelling enter/leave pairs as they arrive
+    private void fill() {
+        if (pendingStart > 0 && pendingStart == pendingEnd) {
+            pendingStart = 0;
+            pendingEnd = 0;
+        }
+        if (pendingStart > pending.length / 2) {
+            System.arraycopy(pending, pendingStart, pending, 0, pendingEnd - pendingStart);
+            pendingEnd -= pendingStart;
+            pendingStart = 0;
+        }
+        final int count = buffer.drain(scratch, pending.length - pendingEnd);
+        for (int i = 0; i < count; i++) {
+            final int event = scratch[i];
+            if (event < 0 && pendingEnd > pendingStart && pending[pendingEnd - 1] == ~event) {
+                pendingEnd--;
+            } else {
+                pending[pendingEnd++] = event;
+            }
+        }
+    }
+
+    // Shows up to budget pending events as one chained key sequence and returns how many were shown
+    private int play(final int budget) {
+        final KeySequence keys = new KeySequence();
+        int played = 0;
+        while (played < budget && pendingStart < pendingEnd) {
+            final int event = pending[pendingStart++];
+            played++;
+            if (event >= 0) {
+                if (shownSize > 0) {
+                    keys.add(arrow(shown[shownSize - 1], event));
+                }
+                shown[shownSize++] = event;
+            } else {
+                shownSize--;
+                if (shownSize > 0) {
+                    keys.add(arrow(~event, shown[shownSize - 1]));
+                }
+            }
+        }
+        // Nothing more reaches the browser once the replay is cancelled
+        if (keys.size() > 0 && !buffer.isCancelled()) {
+            output.accept(keys);
+            keysSent += keys.size();
+        }
+        return played;
+    }
+
+    private CharSequence arrow(final int from, final int to) {
+        return ZipPuzzleWebInterface.toArrowKey(zipBoard.row(to) - zipBoard.row(from), zipBoard.col(to) - zipBoard.col(from));
+    }
+}
@@ -0,0 +1,52 @@
+package com.Sudoku;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SudokuBatchSolverTest {
+
+    @Test
+    void solvesBoardsInInputOrder() throws IOException {
+        final String input = String.join("\n",
+                "quizzes,solutions",
+                "530070000600195000098000060800060003400803001700020006060000280000419005000080079,",
+                "",
+                "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+                ".2..3......34..1",
+                "1233............");
+        final StringWriter output = new StringWriter();
+
+        final SudokuBatchReport report;
+        try (SudokuBatchSolver solver = new SudokuBatchSolver(4, 2)) {
+            report = solver.solve(new BufferedReader(new StringReader(input)), output);
+        }
+
+        assertEquals(String.join("\n",
+                "534678912672195348198342567859761423426853791713924856961537284287419635345286179",
+                "812753649943682175675491283154237896369845721287169534521974368438526917796318452",
+                "1234341221434321",
+                "UNSOLVABLE",
+                ""), output.toString());
+        assertEquals(4, report.getBoards());
+        assertEquals(3, report.getSolved());
+    }
+
+    @Test
+    void histogramPercentilesStayWithinOneSixteenth() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos * 1_000);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(50_000_000, histogram.percentile(0.50), 50_000_000 / 16.0);
+        assertEquals(99_000_000, histogram.percentile(0.99), 99_000_000 / 16.0);
+        assertEquals(100_000_000, histogram.percentile(1.0));
+    }
+}
@@ -0,0 +1,162 @@
+package com.Sudoku;
+
+import com.Utils.SolutionCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SudokuPuzzleTest {
+
+    @Test
+    void solvesMiniSudoku() {
+        final int[][] board = {
+                {2, 0, 0, 0, 0, 0},
+                {0, 0, 5, 0, 1, 4},
+                {0, 0, 0, 0, 0, 2},
+                {0, 5, 0, 1, 0, 0},
+                {0, 6, 0, 5, 0, 1},
+                {0, 0, 0, 0, 0, 0}
+        };
+        final SudokuPuzzle puzzle = new SudokuPuzzle(board);
+
+        puzzle.solve();
+        assertArrayEquals(new int[][]{
+                {2, 1, 4, 6, 3, 5},
+                {6, 3, 5, 2, 1, 4},
+                {1, 4, 6, 3, 5, 2},
+                {3, 5, 2, 1, 4, 6},
+                {4, 6, 3, 5, 2, 1},
+                {5, 2, 1, 4, 6, 3}
+        }, puzzle.getBoard());
+    }
+
+    @Test
+    void solvesClassicSudoku() {
+        final int[][] board = parse(
+                "530070000600195000098000060800060003400803001700020006060000280000419005000080079");
+        final SudokuPuzzle puzzle = new SudokuPuzzle(board);
+
+        puzzle.solve();
+        assertArrayEquals(parse(
+                "534678912672195348198342567859761423426853791713924856961537284287419635345286179"), puzzle.getBoard());
+    }
+
+    @Test
+    void fallsBackToSearchWhenSinglesStall() {
+        final int[][] board = parse(
+                "800000000003600000070090200050007000000045700000100030001000068008500010090000400");
+        final SudokuPuzzle puzzle = new SudokuPuzzle(board);
+
+        final SudokuSolveResult result = puzzle.solve();
+        assertEquals(SudokuSolveResult.Status.SOLVED, result.getStatus());
+        assertTrue(result.getSearchNodes() > 0);
+        assertValidSolution(puzzle.getBoard(), 3, 3);
+    }
+
+    @Test
+    void reportsMultipleSolutions() {
+        final SudokuPuzzle puzzle = new SudokuPuzzle(new int[4][4]);
+
+        final SudokuSolveResult result = puzzle.solve();
+        assertEquals(SudokuSolveResult.Status.MULTIPLE_SOLUTIONS, result.getStatus());
+        assertValidSolution(puzzle.getBoard(), 2, 2);
+    }
+
+    @Test
+    void reportsUnsolvableBoard() {
+        final int[][] board = {
+                {1, 2, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 3, 0},
+                {0, 0, 4, 0}
+        };
+
+        assertEquals(SudokuSolveResult.Status.UNSOLVABLE, new SudokuPuzzle(board).solve().getStatus());
+    }
+
+    @Test
+    void stopsAtNodeLimit() {
+        final SudokuPuzzle puzzle = new SudokuPuzzle(new int[16][16]);
+
+        assertEquals(SudokuSolveResult.Status.NODE_LIMIT_EXCEEDED, puzzle.solve(null, 10).getStatus());
+    }
+
+    @Test
+    void fillsRepeatedBoardFromCache() {
+        final SolutionCache cache = new SolutionCache(4, 60, "");
+        final String givens = "530070000600195000098000060800060003400803001700020006060000280000419005000080079";
+        final String solution = "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+
+        assertEquals(SudokuSolveResult.Status.SOLVED, new SudokuPuzzle(parse(givens)).solveCached(cache).getStatus());
+        final SudokuPuzzle repeat = new SudokuPuzzle(parse(givens));
+        final SudokuSolveResult result = repeat.solveCached(cache);
+
+        assertEquals(SudokuSolveResult.Status.SOLVED, result.getStatus());
+        assertEquals(0, result.getPropagationSteps());
+        assertArrayEquals(parse(solution), repeat.getBoard());
+        assertEquals(1, cache.getHits());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 6, 9, 16})
+    void derivesBlockShapeFromSize(final int size) {
+        final SudokuGeometry geometry = SudokuGeometry.of(size);
+        final int[][] solved = patternSolution(geometry);
+        final int[][] board = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                board[row][col] = (row * 7 + col * 3) % 5 == 0 ? 0 : solved[row][col];
+            }
+        }
+        final SudokuPuzzle puzzle = new SudokuPuzzle(board);
+
+        puzzle.solve();
+        assertArrayEquals(solved, puzzle.getBoard());
+        assertValidSolution(puzzle.getBoard(), geometry.getBlockRows(), geometry.getBlockCols());
+    }
+
+    static int[][] parse(final String line) {
+        final int size = (int) Math.sqrt(line.length());
+        final int[][] board = new int[size][size];
+        for (int i = 0; i < line.length(); i++) {
+            board[i / size][i % size] = Character.digit(line.charAt(i), 36);
+        }
+        return board;
+    }
+
+    // Standard shifted-pattern grid; valid for any block shape
+    static int[][] patternSolution(final SudokuGeometry geometry) {
+        final int size = geometry.getSize();
+        final int[][] board = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                board[row][col] = (geometry.getBlockCols() * (row % geometry.getBlockRows()) + row / geometry.getBlockRows() + col) % size + 1;
+            }
+        }
+        return board;
+    }
+
+    static void assertValidSolution(final int[][] board, final int blockRows, final int blockCols) {
+        final int size = board.length;
+        final int all = ((1 << (size + 1)) - 1) & ~1;
+        for (int i = 0; i < size; i++) {
+            int rowMask = 0;
+            int colMask = 0;
+            int blockMask = 0;
+            for (int j = 0; j < size; j++) {
+                rowMask |= 1 << board[i][j];
+                colMask |= 1 << board[j][i];
+                final int row = (i / (size / blockCols)) * blockRows + j / blockCols;
+                final int col = (i % (size / blockCols)) * blockCols + j % blockCols;
+                blockMask |= 1 << board[row][col];
+            }
+            assertEquals(all, rowMask);
+            assertEquals(all, colMask);
+            assertEquals(all, blockMask);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.Sudoku;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Keys;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SudokuPuzzleWebInterfaceTest {
+
+    @Test
+    void compilesOnlyEmptyCellsAlongSnakeRoute() {
+        final int[][] givens = {
+                {0, 2, 0, 4},
+                {3, 4, 1, 0},
+                {2, 1, 4, 3},
+                {0, 3, 2, 1}
+        };
+        final int[][] solution = {
+                {1, 2, 3, 4},
+                {3, 4, 1, 2},
+                {2, 1, 4, 3},
+                {4, 3, 2, 1}
+        };
+
+        final List<CharSequence> keys = SudokuPuzzleWebInterface.compileKeys(givens, solution).getKeys();
+
+        assertEquals(List.of(
+                Keys.ARROW_RIGHT, "1",
+                Keys.ARROW_RIGHT, Keys.ARROW_RIGHT, "3",
+                Keys.ARROW_DOWN, Keys.ARROW_RIGHT, "2",
+                Keys.ARROW_DOWN, Keys.ARROW_DOWN, Keys.ARROW_LEFT, Keys.ARROW_LEFT, Keys.ARROW_LEFT, "4"
+        ), keys);
+    }
+}
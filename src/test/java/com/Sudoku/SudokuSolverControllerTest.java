@@ -0,0 +1,75 @@
+package com.Sudoku;
+
+import com.Utils.SolutionCache;
+import com.Utils.SolveGate;
+import com.Utils.SolverCostModel;
+import com.Utils.SolverMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SudokuSolverControllerTest {
+
+    private final SolverMetrics solverMetrics = new SolverMetrics();
+
+    private final SolveGate solveGate = new SolveGate(2, 100, 5000, 5000);
+
+    private final SudokuSolverController controller = new SudokuSolverController(new SudokuPuzzleParser(), solveGate,
+            new SolutionCache(16, 60, ""), solverMetrics, new SudokuSolverEngines(new SolverCostModel(1), solverMetrics));
+
+    @AfterEach
+    void tearDown() {
+        solveGate.destroy();
+    }
+
+    @Test
+    void solvesJsonGrid() {
+        final SudokuSolverController.SolveResponse response = controller.solve(
+                new SudokuSolverController.SolveRequest(SudokuPuzzleTest.parse(".2..3......34..1".replace('.', '0'))), null, null);
+
+        assertEquals(SudokuSolveResult.Status.SOLVED, response.status());
+        assertArrayEquals(SudokuPuzzleTest.parse("1234341221434321"), response.solution());
+        assertEquals(1, solverMetrics.getCount("sudoku.status.solved"));
+        assertEquals(11, solverMetrics.getCount("sudoku.nakedSingles") + solverMetrics.getCount("sudoku.hiddenSingles"));
+    }
+
+    @Test
+    void solvesBoardHtml() {
+        final String html = """
+                <div class="sudoku-grid grid-game-board" style="--rows: 4; --cols: 4;">
+                """ + cells(".2..3......34..1") + "</div>";
+
+        assertArrayEquals(SudokuPuzzleTest.parse("1234341221434321"), controller.solveHtml(html, null, null).solution());
+    }
+
+    @Test
+    void rejectsUnsolvableAndMalformedBoards() {
+        final int[][] unsolvable = {
+                {1, 2, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 3, 0},
+                {0, 0, 4, 0}
+        };
+
+        assertEquals(HttpStatus.UNPROCESSABLE_CONTENT, assertThrows(ResponseStatusException.class,
+                () -> controller.solve(new SudokuSolverController.SolveRequest(unsolvable), null, null)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+                () -> controller.solve(new SudokuSolverController.SolveRequest(new int[][]{{1, 5}, {0, 0}}), null, null)).getStatusCode());
+    }
+
+    private static String cells(String line) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            sb.append("<div class=\"sudoku-cell").append(c == '.' ? "" : " sudoku-cell-prefilled")
+                    .append("\" data-cell-idx=\"").append(i).append("\"><div class=\"sudoku-cell-content\">")
+                    .append(c == '.' ? "" : c).append("</div></div>");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.Sudoku;
+
+import com.Utils.KeySequence;
+import com.Utils.ReplayControl;
+import com.Utils.TraceBuffer;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Keys;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SudokuTracePlayerTest {
+
+    @Test
+    void replayTypesSolutionIntoEmptyCells() {
+        final int[][] givens = {
+                {2, 0, 0, 0, 0, 0},
+                {0, 0, 5, 0, 1, 4},
+                {0, 0, 0, 0, 0, 2},
+                {0, 5, 0, 1, 0, 0},
+                {0, 6, 0, 5, 0, 1},
+                {0, 0, 0, 0, 0, 0}
+        };
+        final SudokuPuzzle puzzle = new SudokuPuzzle(copyOf(givens));
+        final TraceBuffer buffer = new TraceBuffer(1 << 12);
+        puzzle.solve(buffer);
+        buffer.close();
+
+        final int[][] typed = copyOf(givens);
+        final int[] cursor = {0, -1};
+        final SudokuTracePlayer player = new SudokuTracePlayer(puzzle.getGeometry(), buffer, keys -> type(typed, cursor, keys), new ReplayControl(0));
+        player.run();
+
+        assertArrayEquals(puzzle.getBoard(), typed);
+        assertTrue(player.getEliminations() > 0);
+    }
+
+    @Test
+    void visitFollowedByItsPlacementIsOneStep() {
+        final SudokuGeometry geometry = SudokuGeometry.of(4);
+        final TraceBuffer buffer = new TraceBuffer(16);
+        buffer.accept(SudokuTraceEvents.encode(SudokuTraceEvents.VISIT, 5, 0));
+        buffer.accept(SudokuTraceEvents.encode(SudokuTraceEvents.PLACE, 5, 3));
+        buffer.accept(SudokuTraceEvents.encode(SudokuTraceEvents.ELIMINATE, 6, 3));
+        buffer.close();
+
+        final KeySequence sent = new KeySequence();
+        final SudokuTracePlayer player = new SudokuTracePlayer(geometry, buffer, keys -> keys.getKeys().forEach(sent::add), new ReplayControl(0));
+        player.run();
+
+        // Highlight the top-left cell, then one down, one right and type
+        assertEquals(4, sent.size());
+        assertEquals("3", sent.getKeys().getLast());
+        assertEquals(1, player.getEliminations());
+    }
+
+    // Applies keys the way the game does: arrows move the highlighted cell, digits fill it
+    private static void type(final int[][] board, final int[] cursor, final KeySequence keys) {
+        for (CharSequence key : keys.getKeys()) {
+            if (key == Keys.ARROW_UP) {
+                cursor[0]--;
+            } else if (key == Keys.ARROW_DOWN) {
+                cursor[0]++;
+            } else if (key == Keys.ARROW_LEFT) {
+                cursor[1]--;
+            } else if (key == Keys.ARROW_RIGHT) {
+                cursor[1]++;
+            } else {
+                board[cursor[0]][cursor[1]] = Integer.parseInt(key.toString());
+            }
+        }
+    }
+
+    private static int[][] copyOf(final int[][] board) {
+        final int[][] copy = new int[board.length][];
+        for (int row = 0; row < board.length; row++) {
+            copy[row] = board[row].clone();
+        }
+        return copy;
+    }
+}
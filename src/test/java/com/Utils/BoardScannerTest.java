@@ -0,0 +1,60 @@
+package com.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardScannerTest {
+
+    private static final BoardScanner ZIP = new BoardScanner(
+            List.of("grid-game-board"), "trail-cell", "trail-cell-content", null, "trail-cell-wall");
+
+    private static final BoardScanner SUDOKU = new BoardScanner(
+            List.of("sudoku-grid", "grid-game-board"), "sudoku-cell", "sudoku-cell-content", "sudoku-cell-prefilled", null);
+
+    @Test
+    void readsValuesAndWallsIgnoringUnrelatedMarkup() {
+        final BoardLayout layout = ZIP.scan("""
+                <section><div class='grid-game-board extra' data-x=1 style="--gap: 2px; --rows:2; --cols: 2">
+                  <!-- <div class="trail-cell" data-cell-idx="3"><div class="trail-cell-content">9</div></div> -->
+                  <div class="trail-cell" data-cell-idx="0"><div class="trail-cell-content"><span>1</span>2</div>
+                    <svg viewBox="0 0 1 1"><path d="M0 0"/></svg><br>
+                    <div class="trail-cell-wall trail-cell-wall--right"></div></div>
+                  <div class="trail-cell" data-cell-idx="1"><div class="trail-cell-wall trail-cell-wall--down"></div></div>
+                  <div class="trail-cell" data-cell-idx="2"><div class="trail-cell-content"> 3 </div></div>
+                  <div class="trail-cell" data-cell-idx="3"></div>
+                </div><div class="trail-cell" data-cell-idx="3"><div class="trail-cell-content">7</div></div></section>
+                """);
+
+        assertEquals(2, layout.getRows());
+        assertEquals(2, layout.getCols());
+        assertArrayEquals(new int[]{12, 0, 3, 0}, layout.getValues());
+        assertTrue(layout.hasWall(0, 0, BoardLayout.WALL_RIGHT));
+        assertTrue(layout.hasWall(0, 1, BoardLayout.WALL_DOWN));
+        assertEquals(0, layout.getWalls()[2]);
+    }
+
+    @Test
+    void keepsOnlyValuesOfMarkedCells() {
+        final BoardLayout layout = SUDOKU.scan("""
+                <div class="sudoku-grid grid-game-board" style="--rows: 1; --cols: 3;">
+                  <div class="sudoku-cell sudoku-cell-prefilled"><div class="sudoku-cell-content">2</div></div>
+                  <div class="sudoku-cell"><div class="sudoku-cell-content">3</div></div>
+                  <div class="sudoku-cell sudoku-cell-prefilled"><div class="sudoku-cell-content"></div></div>
+                </div>
+                """);
+
+        assertArrayEquals(new int[]{2, 0, 0}, layout.getValues());
+    }
+
+    @Test
+    void requiresEveryGridClass() {
+        assertThrows(RuntimeException.class,
+                () -> SUDOKU.scan("<div class=\"grid-game-board\" style=\"--rows: 1; --cols: 1;\"></div>"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.Utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BrowserPoolTest {
+
+    private final AtomicInteger started = new AtomicInteger();
+
+    @Test
+    void reusesReturnedSession() {
+        final BrowserPool pool = new BrowserPool(this::fakeDriver, 2, 100);
+
+        final WebDriver first;
+        try (BrowserPool.Lease lease = pool.lease()) {
+            first = lease.getDriver();
+        }
+        try (BrowserPool.Lease lease = pool.lease()) {
+            assertSame(first, lease.getDriver());
+        }
+        assertEquals(1, started.get());
+    }
+
+    @Test
+    void replacesUnhealthySession() {
+        final AtomicBoolean alive = new AtomicBoolean(true);
+        final BrowserPool pool = new BrowserPool(() -> fakeDriver(alive), 1, 100);
+
+        final WebDriver first;
+        try (BrowserPool.Lease lease = pool.lease()) {
+            first = lease.getDriver();
+        }
+        alive.set(false);
+        try (BrowserPool.Lease lease = pool.lease()) {
+            assertNotSame(first, lease.getDriver());
+        }
+    }
+
+    @Test
+    void boundsConcurrentLeases() {
+        final BrowserPool pool = new BrowserPool(this::fakeDriver, 1, 50);
+
+        try (BrowserPool.Lease ignored = pool.lease()) {
+            assertThrows(RuntimeException.class, pool::lease);
+        }
+        try (BrowserPool.Lease lease = pool.lease()) {
+            assertTrue(lease.getDriver() != null);
+        }
+    }
+
+    @Test
+    void quitsSessionThatFailedMidTask() {
+        final BrowserPool pool = new BrowserPool(this::fakeDriver, 1, 100);
+
+        final WebDriver first;
+        try (BrowserPool.Lease lease = pool.lease()) {
+            first = lease.getDriver();
+            lease.invalidateIfBrowserFailed(new RuntimeException("Solver failed"));
+        }
+        try (BrowserPool.Lease lease = pool.lease()) {
+            assertSame(first, lease.getDriver());
+            lease.invalidateIfBrowserFailed(new RuntimeException("Playback failed", new WebDriverException("Session is gone")));
+        }
+        assertEquals(0, pool.getIdleCount());
+        try (BrowserPool.Lease lease = pool.lease()) {
+            assertNotSame(first, lease.getDriver());
+        }
+    }
+
+    @Test
+    void prewarmedSessionsAreIdleUntilLeased() {
+        final BrowserPool pool = new BrowserPool(this::fakeDriver, 2, 100);
+
+        pool.prewarm(5);
+        assertEquals(2, pool.getIdleCount());
+        try (BrowserPool.Lease ignored = pool.lease()) {
+            assertEquals(1, pool.getIdleCount());
+        }
+        assertEquals(2, started.get());
+    }
+
+    @Test
+    void destroyQuitsSessionStillStartingInPrewarm() throws InterruptedException {
+        final CountDownLatch starting = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicReference<WebDriver> late = new AtomicReference<>();
+        final BrowserPool pool = new BrowserPool(() -> {
+            starting.countDown();
+            // Like ChromeDriver start-up, not cut short by the interrupt
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException ignored) {
+                    // Keep starting
+                }
+            }
+            late.set(fakeDriver());
+            return late.get();
+        }, 2, 100);
+
+        pool.startPrewarm(2);
+        starting.await();
+        final Thread destroyer = Thread.ofVirtual().start(pool::destroy);
+        Thread.sleep(50);
+        assertTrue(destroyer.isAlive());
+        release.countDown();
+        destroyer.join();
+
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(1, started.get());
+        assertThrows(WebDriverException.class, () -> late.get().getWindowHandle());
+    }
+
+    private WebDriver fakeDriver() {
+        return fakeDriver(new AtomicBoolean(true));
+    }
+
+    // Minimal WebDriver that only answers the calls the pool makes
+    private WebDriver fakeDriver(final AtomicBoolean alive) {
+        started.incrementAndGet();
+        final AtomicBoolean quit = new AtomicBoolean(false);
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+            if (method.getName().equals("quit")) {
+                quit.set(true);
+                return null;
+            }
+            if (quit.get() || !alive.get()) {
+                throw new WebDriverException("Session is gone");
+            }
+            return switch (method.getName()) {
+                case "getWindowHandle" -> "window";
+                case "switchTo" -> Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[]{WebDriver.TargetLocator.class}, (p, m, a) -> proxy);
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> null;
+            };
+        });
+    }
+}
@@ -0,0 +1,155 @@
+package com.Utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PuzzleArchiveTest {
+
+    private static final long DAY = 86_400_000L;
+
+    private final AtomicLong now = new AtomicLong(LocalDate.of(2026, 10, 18).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli());
+
+    @Test
+    void readsRecordsBackAfterReopening(@TempDir final Path dir) throws IOException {
+        final BoardLayout layout = new BoardLayout(2, 2, new int[]{1, 0, 0, 2},
+                new int[]{BoardLayout.WALL_DOWN, 0, BoardLayout.WALL_UP, 0});
+        final PhaseTimings timings = new PhaseTimings();
+        timings.mark("parse");
+        timings.mark("solve");
+
+        final PuzzleArchive archive = new PuzzleArchive(dir, now::get);
+        archive.append(PuzzleType.ZIP, "zip-a", layout, new int[]{0, 1, 3, 2}, timings);
+        archive.append(PuzzleType.SUDOKU, "sudoku-b", layout, null, new PhaseTimings());
+        archive.destroy();
+
+        final PuzzleArchive reopened = new PuzzleArchive(dir, now::get);
+        assertEquals(2, reopened.size());
+        final ArchiveRecord first = reopened.get(0);
+        assertEquals(now.get(), first.getTimestampMillis());
+        assertEquals(PuzzleType.ZIP, first.getPuzzleType());
+        assertEquals("zip-a", first.getFingerprint());
+        assertArrayEquals(layout.getValues(), first.getLayout().getValues());
+        assertArrayEquals(layout.getWalls(), first.getLayout().getWalls());
+        assertArrayEquals(new int[]{0, 1, 3, 2}, first.getSolution());
+        assertEquals(timings.getPhaseNanos(), first.getPhaseNanos());
+        assertNull(reopened.get(1).getSolution());
+        assertEquals(PuzzleType.SUDOKU, reopened.get(1).getPuzzleType());
+    }
+
+    @Test
+    void findsRunsByFingerprintAndDate(@TempDir final Path dir) throws IOException {
+        final PuzzleArchive archive = new PuzzleArchive(dir, now::get);
+        archive.append(PuzzleType.ZIP, "a", layout(1), new int[]{0}, new PhaseTimings());
+        now.addAndGet(DAY);
+        archive.append(PuzzleType.ZIP, "b", layout(2), new int[]{0}, new PhaseTimings());
+        archive.append(PuzzleType.ZIP, "a", layout(1), new int[]{0}, new PhaseTimings());
+        now.addAndGet(DAY);
+        archive.append(PuzzleType.ZIP, "c", layout(3), new int[]{0}, new PhaseTimings());
+
+        assertEquals(2, archive.findByFingerprint("a").size());
+        assertEquals(0, archive.findByFingerprint("d").size());
+        assertEquals(2, archive.findByDate(LocalDate.of(2026, 10, 19), ZoneOffset.UTC).size());
+        assertEquals("c", archive.findByDate(LocalDate.of(2026, 10, 20), ZoneOffset.UTC).get(0).getFingerprint());
+        assertEquals(4, archive.findBetween(Instant.EPOCH, Instant.ofEpochMilli(now.get() + 1)).size());
+    }
+
+    @Test
+    void truncatesTornRecordAndKeepsAppending(@TempDir final Path dir) throws IOException {
+        final PuzzleArchive archive = new PuzzleArchive(dir, now::get);
+        archive.append(PuzzleType.ZIP, "a", layout(1), new int[]{0}, new PhaseTimings());
+        archive.destroy();
+        final Path file = dir.resolve(PuzzleArchive.FILE_NAME);
+        final long intact = Files.size(file);
+        // A crash midway through the next record
+        Files.write(file, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        final PuzzleArchive reopened = new PuzzleArchive(dir, now::get);
+        assertEquals(1, reopened.size());
+        assertEquals(intact, Files.size(file));
+        reopened.append(PuzzleType.ZIP, "b", layout(2), null, new PhaseTimings());
+        reopened.destroy();
+
+        final PuzzleArchive again = new PuzzleArchive(dir, now::get);
+        assertEquals(2, again.size());
+        assertEquals("b", again.get(1).getFingerprint());
+    }
+
+    @Test
+    void skipsDamagedRecordMidFileWithoutTruncating(@TempDir final Path dir) throws IOException {
+        final PuzzleArchive archive = new PuzzleArchive(dir, now::get);
+        for (String fingerprint : new String[]{"a", "b", "c"}) {
+            archive.append(PuzzleType.ZIP, fingerprint, layout(1), new int[]{0}, new PhaseTimings());
+        }
+        archive.destroy();
+        final Path file = dir.resolve(PuzzleArchive.FILE_NAME);
+        final byte[] bytes = Files.readAllBytes(file);
+        // The records are the same size, so the second starts a third of the way past the header;
+        // flip a bit in its body
+        final int recordBytes = (bytes.length - 8) / 3;
+        bytes[8 + recordBytes + 12] ^= 1;
+        Files.write(file, bytes);
+
+        final PuzzleArchive reopened = new PuzzleArchive(dir, now::get);
+        assertEquals(2, reopened.size());
+        assertEquals(1, reopened.getSkipped());
+        assertEquals("c", reopened.get(1).getFingerprint());
+        assertEquals(bytes.length, Files.size(file));
+        reopened.append(PuzzleType.ZIP, "d", layout(2), null, new PhaseTimings());
+        reopened.destroy();
+        assertEquals(3, new PuzzleArchive(dir, now::get).size());
+
+        // A length that cannot be right is not guessed around
+        final byte[] again = Files.readAllBytes(file);
+        again[8 + recordBytes + 3] = 0;
+        again[8 + recordBytes + 2] = 0;
+        Files.write(file, again);
+        assertThrows(IOException.class, () -> new PuzzleArchive(dir, now::get));
+        assertEquals(again.length, Files.size(file));
+    }
+
+    @Test
+    void readOnlyOpenLeavesUnfinishedRecordAlone(@TempDir final Path dir) throws IOException {
+        final PuzzleArchive writer = new PuzzleArchive(dir, now::get);
+        writer.append(PuzzleType.ZIP, "a", layout(1), new int[]{0}, new PhaseTimings());
+        final Path file = dir.resolve(PuzzleArchive.FILE_NAME);
+        // The writer midway through its next record
+        Files.write(file, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+        final long length = Files.size(file);
+
+        final PuzzleArchive reader = PuzzleArchive.openReadOnly(dir);
+        reader.append(PuzzleType.ZIP, "b", layout(2), null, new PhaseTimings());
+        assertEquals(1, reader.size());
+        assertEquals("a", reader.findByFingerprint("a").get(0).getFingerprint());
+        reader.destroy();
+        assertEquals(length, Files.size(file));
+        writer.destroy();
+    }
+
+    @Test
+    void dropsAppendsWhenDisabled() throws IOException {
+        final PuzzleArchive archive = new PuzzleArchive(null, now::get);
+        archive.append(PuzzleType.ZIP, "a", layout(1), new int[]{0}, new PhaseTimings());
+
+        assertFalse(archive.isEnabled());
+        assertEquals(0, archive.size());
+    }
+
+    private static BoardLayout layout(final int value) {
+        return new BoardLayout(1, 1, new int[]{value}, new int[1]);
+    }
+}
@@ -0,0 +1,72 @@
+package com.Utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SolutionCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void solvesEachFingerprintOnce() {
+        final SolutionCache cache = new SolutionCache(4, 1_000, null, now::get);
+        final AtomicInteger solves = new AtomicInteger();
+
+        cache.computeIfAbsent("a", () -> new int[]{solves.incrementAndGet()});
+        assertArrayEquals(new int[]{1}, cache.computeIfAbsent("a", () -> new int[]{solves.incrementAndGet()}));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void neverCachesUnsolvableBoards() {
+        final SolutionCache cache = new SolutionCache(4, 1_000, null, now::get);
+
+        assertNull(cache.computeIfAbsent("a", () -> null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        final SolutionCache cache = new SolutionCache(2, 1_000, null, now::get);
+        cache.put("a", new int[]{1});
+        cache.put("b", new int[]{2});
+        cache.get("a");
+        cache.put("c", new int[]{3});
+
+        assertArrayEquals(new int[]{1}, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        final SolutionCache cache = new SolutionCache(4, 1_000, null, now::get);
+        cache.put("a", new int[]{1});
+
+        now.addAndGet(999);
+        assertArrayEquals(new int[]{1}, cache.get("a"));
+        now.addAndGet(1);
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getExpirations());
+    }
+
+    @Test
+    void survivesRestartThroughDiskStore(@TempDir final Path dir) {
+        new SolutionCache(4, 1_000, dir, now::get).put("zip-abc", new int[]{3, 1, 2});
+
+        final SolutionCache restarted = new SolutionCache(4, 1_000, dir, now::get);
+        assertArrayEquals(new int[]{3, 1, 2}, restarted.get("zip-abc"));
+        assertEquals(1, restarted.getDiskHits());
+
+        now.addAndGet(1_000);
+        assertNull(new SolutionCache(4, 1_000, dir, now::get).get("zip-abc"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.Utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolveGateTest {
+
+    @Test
+    void returnsResultAndFreesSlot() {
+        final SolveGate gate = new SolveGate(1, 10, 1000, 1000);
+
+        assertEquals(42, gate.run(null, () -> 42));
+        assertEquals(1, gate.getAvailableSlots());
+        gate.destroy();
+    }
+
+    @Test
+    void answersGatewayTimeoutAfterDeadline() throws InterruptedException {
+        final SolveGate gate = new SolveGate(1, 10, 1000, 1000);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        final ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> gate.run(50L, () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+            return null;
+        }));
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, e.getStatusCode());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        gate.destroy();
+    }
+
+    @Test
+    void turnsAwayRequestsOverTheLimit() throws InterruptedException {
+        final SolveGate gate = new SolveGate(1, 10, 1000, 1000);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread busy = Thread.ofVirtual().start(() -> gate.run(null, () -> {
+            started.countDown();
+            release.await();
+            return null;
+        }));
+        started.await();
+
+        final ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> gate.run(null, () -> 1));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+
+        release.countDown();
+        busy.join();
+        gate.destroy();
+    }
+
+    @Test
+    void rethrowsSolverFailures() {
+        final SolveGate gate = new SolveGate(1, 10, 1000, 1000);
+
+        assertThrows(IllegalStateException.class, () -> gate.run(null, () -> {
+            throw new IllegalStateException("bad board");
+        }));
+        assertEquals(1, gate.getAvailableSlots());
+        gate.destroy();
+    }
+}
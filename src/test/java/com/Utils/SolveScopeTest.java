@@ -0,0 +1,87 @@
+package com.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolveScopeTest {
+
+    @Test
+    void splitsSlotsFairlyBetweenOpenScopes() {
+        final CpuShare cpuShare = new CpuShare(4);
+        try (SolveScope first = SolveScope.open(cpuShare)) {
+            assertEquals(4, first.claim(10));
+        }
+        try (SolveScope first = SolveScope.open(cpuShare); SolveScope second = SolveScope.open(cpuShare)) {
+            assertEquals(2, first.claim(10));
+            assertEquals(2, second.claim(10));
+            assertEquals(0, first.claim(1));
+        }
+        assertEquals(0, cpuShare.getSlotsInUse());
+        assertEquals(0, cpuShare.getOpenScopes());
+    }
+
+    @Test
+    void poolClaimLeavesSlotsForSolvesStartedLater() throws Exception {
+        final CpuShare cpuShare = new CpuShare(4);
+        final CountDownLatch release = new CountDownLatch(1);
+        try (SolveScope first = SolveScope.open(cpuShare)) {
+            // Alone, yet the pool only takes half
+            assertEquals(2, first.claimForPool());
+            try (SolveScope second = SolveScope.open(cpuShare)) {
+                final Future<Boolean> a = second.fork(() -> release.await(1, TimeUnit.SECONDS));
+                final Future<Boolean> b = second.fork(() -> release.await(1, TimeUnit.SECONDS));
+                final Future<Thread> ranOn = second.fork(Thread::currentThread);
+
+                assertEquals(2, second.getForked());
+                assertSame(Thread.currentThread(), ranOn.get());
+                assertEquals(4, cpuShare.getSlotsInUse());
+                release.countDown();
+                assertTrue(a.get() && b.get());
+            }
+        }
+        assertEquals(0, cpuShare.getSlotsInUse());
+    }
+
+    @Test
+    void runsForksInlineBeyondTheShare() throws Exception {
+        final CpuShare cpuShare = new CpuShare(1);
+        try (SolveScope first = SolveScope.open(cpuShare); SolveScope second = SolveScope.open(cpuShare)) {
+            final Future<Thread> ranOn = first.fork(Thread::currentThread);
+
+            assertSame(Thread.currentThread(), ranOn.get());
+            assertEquals(1, first.getInline());
+            assertEquals(0, second.getForked());
+        }
+    }
+
+    @Test
+    void closeInterruptsAndAwaitsRunningForks() throws Exception {
+        final CpuShare cpuShare = new CpuShare(2);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        try (SolveScope scope = SolveScope.open(cpuShare)) {
+            final Future<Thread> ranOn = scope.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    stopped.countDown();
+                }
+                return Thread.currentThread();
+            });
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            assertEquals(1, scope.getForked());
+            assertEquals(1, cpuShare.getSlotsInUse());
+            assertTrue(!ranOn.isDone());
+        }
+        assertEquals(0, stopped.getCount());
+        assertEquals(0, cpuShare.getSlotsInUse());
+    }
+}
@@ -0,0 +1,70 @@
+package com.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverEnginesTest {
+
+    private final SolverCostModel costModel = new SolverCostModel(2);
+
+    private final List<String> ran = new ArrayList<>();
+
+    private final SolverEngines<Integer, String> engines = new SolverEngines<>(PuzzleType.ZIP, List.of(
+            engine("single"),
+            engine("multi")
+    ), cells -> new BoardFeatures(cells, 0, 0), costModel, new SolverMetrics());
+
+    @Test
+    void autoMeasuresEveryEngineBeforeTrustingTheModel() {
+        for (int i = 0; i < 4; i++) {
+            engines.solve(49, SolverEngines.AUTO);
+        }
+
+        assertEquals(List.of("single", "multi", "single", "multi"), ran);
+        assertEquals(2, costModel.getSamples("zip.engine.single"));
+        assertTrue(costModel.isCalibrated("zip.engine.multi"));
+    }
+
+    @Test
+    void choosesFastestEngineForBoardSize() {
+        // Single-threaded time grows with the board; multi-threaded pays a fixed overhead
+        for (int cells : new int[]{16, 25, 36, 49, 64, 100, 400, 1600}) {
+            costModel.record("zip.engine.single", new BoardFeatures(cells, 0, 0), (long) cells * cells * 10);
+            costModel.record("zip.engine.multi", new BoardFeatures(cells, 0, 0), 1_000_000L + cells * 100L);
+        }
+
+        assertEquals("single", engines.choose(new BoardFeatures(36, 0, 0)).getName());
+        assertEquals("multi", engines.choose(new BoardFeatures(900, 0, 0)).getName());
+        final double predicted = costModel.predictNanos("zip.engine.single", new BoardFeatures(100, 0, 0));
+        assertTrue(predicted > 50_000 && predicted < 200_000, "predicted " + predicted);
+    }
+
+    @Test
+    void calibrationDiscardsWarmUpRound() {
+        engines.calibrate(i -> 25 + i, 2);
+
+        assertEquals(List.of("single", "multi", "single", "multi", "single", "multi"), ran);
+        assertEquals(2, costModel.getSamples("zip.engine.single"));
+        assertEquals(2, costModel.getSamples("zip.engine.multi"));
+    }
+
+    @Test
+    void namedEngineBypassesModel() {
+        assertEquals("multi:25", engines.solve(25, "multi"));
+        assertEquals(List.of("multi"), ran);
+        assertThrows(IllegalArgumentException.class, () -> engines.solve(25, "bogus"));
+    }
+
+    private SolverEngine<Integer, String> engine(String name) {
+        return SolverEngine.of(name, cells -> {
+            ran.add(name);
+            return name + ":" + cells;
+        });
+    }
+}
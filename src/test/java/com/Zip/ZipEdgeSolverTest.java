@@ -0,0 +1,61 @@
+package com.Zip;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipEdgeSolverTest {
+
+    @Test
+    void solvesGeneratedPuzzles() {
+        final ZipPuzzleGenerator generator = new ZipPuzzleGenerator(5);
+        for (ZipPuzzleGenerator.Difficulty difficulty : ZipPuzzleGenerator.Difficulty.values()) {
+            for (int size = 2; size <= 8; size++) {
+                final ZipPuzzle puzzle = generator.generate(size, size, difficulty);
+                ZipPuzzleTest.assertValidSolution(puzzle, puzzle.getEdgeSolution());
+            }
+        }
+    }
+
+    @Test
+    void returnsNullWhenUnsolvable() {
+        final HashMap<String, Set<String>> bannedMoves = new HashMap<>();
+        ZipPuzzleTest.block(bannedMoves, "0,0", "0,1");
+        ZipPuzzleTest.block(bannedMoves, "0,0", "1,0");
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {1, 0, 0},
+                {0, 0, 0},
+                {0, 0, 2}
+        }, bannedMoves).getZipBoard();
+
+        assertNull(new ZipEdgeSolver(zipBoard).solve(zipBoard.getStartCell()));
+    }
+
+    @Test
+    void rejectsPathsThatVisitCheckpointsOutOfOrder() {
+        // The only path through every cell from 1 to 4 meets 3 before 2
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {1, 3, 2, 4}
+        }, new HashMap<>()).getZipBoard();
+
+        assertNull(new ZipEdgeSolver(zipBoard).solve(zipBoard.getStartCell()));
+    }
+
+    @Test
+    void needsFewerNodesThanCellOrderSearchOnDenseBoards() {
+        final ZipPuzzle puzzle = new ZipPuzzleGenerator(3).generate(8, 8, ZipPuzzleGenerator.Difficulty.EASY);
+        final ZipBoard zipBoard = puzzle.getZipBoard();
+        final ZipSearchStats iterative = new ZipSearchStats();
+
+        final ZipEdgeSolver solver = new ZipEdgeSolver(zipBoard);
+        ZipPuzzleTest.assertValidSolution(puzzle, puzzle.getEdgeSolution());
+        solver.solve(zipBoard.getStartCell());
+        new ZipIterativeSolver(zipBoard, iterative).solve(zipBoard.getStartCell());
+
+        assertTrue(solver.getNodes() * 10 < iterative.getNodes());
+    }
+}
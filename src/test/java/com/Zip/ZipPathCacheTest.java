@@ -0,0 +1,41 @@
+package com.Zip;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipPathCacheTest {
+
+    @Test
+    void witnessIsSnapshotAndInvalidatedByVisitedCells() {
+        final ZipPathCache cache = new ZipPathCache(3, 2);
+        final long[] path = new long[]{0b0110L};
+        cache.store(2, path);
+        path[0] = 0L;
+
+        assertTrue(cache.lookup(2, new long[]{0b1000L}));
+        assertFalse(cache.lookup(2, new long[]{0b0100L}));
+        assertFalse(cache.lookup(2, new long[]{0L}));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    void evictsOldestWitnessWhenSegmentIsFull() {
+        final ZipPathCache cache = new ZipPathCache(2, 2);
+        cache.store(2, new long[]{0b001L});
+        cache.store(2, new long[]{0b010L});
+        cache.store(2, new long[]{0b100L});
+
+        assertEquals(1, cache.getEvictions());
+        assertTrue(cache.lookup(2, new long[]{0b001L}));
+    }
+
+    @Test
+    void hitRateIsZeroWithoutLookups() {
+        assertEquals(0, new ZipPathCache(2, 1).getHitRate());
+    }
+}
@@ -0,0 +1,72 @@
+package com.Zip;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipPrunerTest {
+
+    @Test
+    void acceptsOpenBoard() {
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {1, 0, 0},
+                {0, 0, 0},
+                {0, 0, 2}
+        }, new HashMap<>()).getZipBoard();
+
+        assertTrue(isViable(zipBoard, 2, 0, 0));
+    }
+
+    @Test
+    void rejectsParityMismatch() {
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {0, 1, 0},
+                {0, 0, 0},
+                {0, 0, 2}
+        }, new HashMap<>()).getZipBoard();
+
+        assertFalse(isViable(zipBoard, 2, 1));
+    }
+
+    @Test
+    void rejectsTwoDeadEnds() {
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {0, 0, 1, 0, 0}
+        }, new HashMap<>()).getZipBoard();
+
+        assertFalse(isViable(zipBoard, 2, 0, 2));
+    }
+
+    @Test
+    void rejectsCheckpointBehindLaterCheckpoint() {
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {1, 0, 3, 2}
+        }, new HashMap<>()).getZipBoard();
+
+        assertFalse(isViable(zipBoard, 2, 0, 0));
+    }
+
+    @Test
+    void rejectsRegionCutOffFromHead() {
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {0, 1, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 2}
+        }, new HashMap<>()).getZipBoard();
+
+        // Column 1 is visited top to bottom before turning right, walling column 0 off from the head
+        assertFalse(isViable(zipBoard, 2, 1, 5, 9, 13, 14));
+    }
+
+    private static boolean isViable(final ZipBoard zipBoard, final int nextNode, final int... visited) {
+        final long[] seen = zipBoard.newMask();
+        for (int cell : visited) {
+            ZipBoard.set(seen, cell);
+        }
+        return new ZipPruner(zipBoard).isViable(visited[visited.length - 1], nextNode, seen);
+    }
+}
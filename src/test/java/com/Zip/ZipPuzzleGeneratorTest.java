@@ -0,0 +1,48 @@
+package com.Zip;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZipPuzzleGeneratorTest {
+
+    @Test
+    void generatedPuzzlesAreSolvable() {
+        final ZipPuzzleGenerator generator = new ZipPuzzleGenerator(7);
+        for (ZipPuzzleGenerator.Difficulty difficulty : ZipPuzzleGenerator.Difficulty.values()) {
+            final ZipPuzzle puzzle = generator.generate(7, 7, difficulty);
+            ZipPuzzleTest.assertValidSolution(puzzle, puzzle.getSolution());
+            ZipPuzzleTest.assertValidSolution(puzzle, puzzle.getIterativeSolution());
+        }
+    }
+
+    @Test
+    void handlesSingleCellAndRejectsEmptyBoards() {
+        final ZipPuzzle puzzle = new ZipPuzzleGenerator(3).generate(1, 1, ZipPuzzleGenerator.Difficulty.EASY);
+
+        assertArrayEquals(new int[][]{{1}}, puzzle.getBoard());
+        ZipPuzzleTest.assertValidSolution(puzzle, puzzle.getSolution());
+        assertThrows(IllegalArgumentException.class, () -> new ZipPuzzleGenerator(3).generate(0, 4, ZipPuzzleGenerator.Difficulty.EASY));
+    }
+
+    @Test
+    void sameSeedGeneratesSameBoard() {
+        final ZipPuzzle first = new ZipPuzzleGenerator(11).generate(8, 6, ZipPuzzleGenerator.Difficulty.HARD);
+        final ZipPuzzle second = new ZipPuzzleGenerator(11).generate(8, 6, ZipPuzzleGenerator.Difficulty.HARD);
+
+        assertArrayEquals(first.getBoard(), second.getBoard());
+        assertEquals(first.getBannedMoves(), second.getBannedMoves());
+    }
+
+    @Test
+    void renderedHtmlParsesBackToSamePuzzle() {
+        final ZipPuzzle puzzle = new ZipPuzzleGenerator(3).generate(6, 6, ZipPuzzleGenerator.Difficulty.EASY);
+        final ZipPuzzle parsed = new ZipPuzzleParser().parse(ZipPuzzleGenerator.toHtml(puzzle));
+
+        assertArrayEquals(puzzle.getBoard(), parsed.getBoard());
+        assertEquals(puzzle.getBannedMoves(), parsed.getBannedMoves());
+        assertEquals(puzzle.getMaxNode(), parsed.getMaxNode());
+    }
+}
@@ -0,0 +1,261 @@
+package com.Zip;
+
+import com.Utils.CpuShare;
+import com.Utils.SolutionCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipPuzzleTest {
+
+    @Test
+    void solvesOpenBoard() {
+        final ZipPuzzle puzzle = puzzle(new int[][]{
+                {1, 0, 0},
+                {0, 0, 0},
+                {0, 0, 2}
+        }, new HashMap<>());
+
+        assertValidSolution(puzzle, puzzle.getSolution());
+    }
+
+    @Test
+    void respectsWallsAndCheckpointOrder() {
+        final HashMap<String, Set<String>> bannedMoves = new HashMap<>();
+        block(bannedMoves, "0,0", "0,1");
+        block(bannedMoves, "1,1", "1,2");
+        final ZipPuzzle puzzle = puzzle(new int[][]{
+                {1, 0, 0, 0},
+                {0, 0, 3, 0},
+                {0, 2, 0, 0},
+                {0, 0, 0, 4}
+        }, bannedMoves);
+
+        assertValidSolution(puzzle, puzzle.getSolution());
+    }
+
+    @Test
+    void visualizedPathEndsOnSolution() {
+        final ZipPuzzle puzzle = puzzle(new int[][]{
+                {1, 0, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 2},
+                {0, 0, 0, 3}
+        }, new HashMap<>());
+
+        final List<Integer[]> path = new ArrayList<>();
+        puzzle.visualizeSolution(path, false);
+        assertValidSolution(puzzle, path);
+    }
+
+    @Test
+    void multiThreadedVisualizationUsesPathCache() {
+        final ZipPuzzle puzzle = puzzle(new int[][]{
+                {1, 0, 0, 0},
+                {0, 0, 2, 0},
+                {0, 3, 0, 0},
+                {0, 0, 0, 4}
+        }, new HashMap<>());
+
+        final List<Integer[]> path = new ArrayList<>();
+        puzzle.visualizeSolution(path, true);
+        assertValidSolution(puzzle, path);
+        assertTrue(puzzle.getPathCache().getHits() + puzzle.getPathCache().getMisses() > 0);
+    }
+
+    @Test
+    void returnsEmptySolutionWhenUnsolvable() {
+        final HashMap<String, Set<String>> bannedMoves = new HashMap<>();
+        block(bannedMoves, "0,0", "0,1");
+        block(bannedMoves, "0,0", "1,0");
+        final ZipPuzzle puzzle = puzzle(new int[][]{
+                {1, 0},
+                {0, 2}
+        }, bannedMoves);
+
+        assertTrue(puzzle.getSolution().isEmpty());
+    }
+
+    @Test
+    void parallelSolveFindsFullPath() {
+        final HashMap<String, Set<String>> bannedMoves = new HashMap<>();
+        block(bannedMoves, "2,2", "2,3");
+        block(bannedMoves, "3,2", "3,3");
+        final ZipPuzzle puzzle = puzzle(new int[][]{
+                {1, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 2, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 3, 0},
+                {4, 0, 0, 0, 0, 0}
+        }, bannedMoves);
+
+        assertValidSolution(puzzle, puzzle.getParallelSolution(new ForkJoinPool(4)));
+    }
+
+    @Test
+    void parallelSolveReturnsEmptySolutionWhenUnsolvable() {
+        final HashMap<String, Set<String>> bannedMoves = new HashMap<>();
+        block(bannedMoves, "0,3", "0,2");
+        block(bannedMoves, "0,3", "1,3");
+        final ZipPuzzle puzzle = puzzle(new int[][]{
+                {1, 0, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 2}
+        }, bannedMoves);
+
+        assertTrue(puzzle.getParallelSolution(new ForkJoinPool(4)).isEmpty());
+    }
+
+    @Test
+    void iterativeSolveRespectsWallsAndCheckpointOrder() {
+        final HashMap<String, Set<String>> bannedMoves = new HashMap<>();
+        block(bannedMoves, "0,0", "0,1");
+        block(bannedMoves, "1,1", "1,2");
+        final ZipPuzzle puzzle = puzzle(new int[][]{
+                {1, 0, 0, 0},
+                {0, 0, 3, 0},
+                {0, 2, 0, 0},
+                {0, 0, 0, 4}
+        }, bannedMoves);
+
+        assertValidSolution(puzzle, puzzle.getIterativeSolution());
+    }
+
+    @Test
+    void iterativeSolveHandlesLargeBoards() {
+        final int[][] board = new int[40][40];
+        board[0][0] = 1;
+        board[20][13] = 2;
+        board[39][0] = 3;
+        final ZipPuzzle puzzle = puzzle(board, new HashMap<>());
+
+        final List<Integer[]> solution = assertTimeoutPreemptively(Duration.ofSeconds(10), puzzle::getIterativeSolution);
+        assertValidSolution(puzzle, solution);
+    }
+
+    @Test
+    void fingerprintDependsOnWallsNotOnHowTheyWereListed() {
+        final int[][] board = {
+                {1, 0, 0},
+                {0, 0, 0},
+                {0, 0, 2}
+        };
+        final HashMap<String, Set<String>> walls = new HashMap<>();
+        block(walls, "0,0", "0,1");
+        block(walls, "1,1", "1,2");
+        final HashMap<String, Set<String>> sameWallsReversed = new HashMap<>();
+        block(sameWallsReversed, "1,2", "1,1");
+        block(sameWallsReversed, "0,1", "0,0");
+        // Walls off the board block nothing
+        sameWallsReversed.put("2,2", new HashSet<>(Set.of("2,3")));
+        final HashMap<String, Set<String>> otherWall = new HashMap<>();
+        block(otherWall, "0,0", "0,1");
+        block(otherWall, "1,0", "1,1");
+
+        assertEquals(puzzle(board, walls).fingerprint(), puzzle(board, sameWallsReversed).fingerprint());
+        assertNotEquals(puzzle(board, walls).fingerprint(), puzzle(board, otherWall).fingerprint());
+        assertNotEquals(puzzle(board, new HashMap<>()).fingerprint(), puzzle(board, walls).fingerprint());
+    }
+
+    @Test
+    void answersRepeatedBoardFromCache() {
+        final SolutionCache cache = new SolutionCache(4, 60, "");
+        final ZipPuzzle puzzle = new ZipPuzzleGenerator(9).generate(6, 6, ZipPuzzleGenerator.Difficulty.MEDIUM);
+        final ZipPuzzle repeat = new ZipPuzzleParser().parse(ZipPuzzleGenerator.toHtml(puzzle));
+
+        assertValidSolution(puzzle, puzzle.getCachedSolution(cache));
+        assertValidSolution(repeat, repeat.getCachedSolution(cache));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void layoutRoundTripKeepsBoardAndWalls() {
+        final ZipPuzzle puzzle = new ZipPuzzleGenerator(5).generate(6, 6, ZipPuzzleGenerator.Difficulty.EASY);
+        final ZipPuzzle copy = new ZipPuzzleParser().fromLayout(puzzle.toLayout());
+
+        assertEquals(puzzle.fingerprint(), copy.fingerprint());
+        final List<Integer[]> solution = copy.getIterativeSolution();
+        assertValidSolution(puzzle, solution);
+        assertEquals(solution.size(), puzzle.toCells(solution).length);
+    }
+
+    @Test
+    void concurrentSolvesKeepTheirOwnCounters() throws Exception {
+        final ZipPuzzle puzzle = new ZipPuzzleGenerator(1).generate(8, 8, ZipPuzzleGenerator.Difficulty.HARD);
+        final long soloNodes = puzzle.solve(ZipSolveBudget.unlimited()).getStats().getNodes();
+        final CpuShare cpuShare = new CpuShare(2);
+
+        final List<Future<ZipSolveResult>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 6; i++) {
+                results.add(executor.submit(() -> puzzle.solve(ZipSolveBudget.unlimited(), cpuShare)));
+            }
+        }
+        for (Future<ZipSolveResult> result : results) {
+            assertEquals(ZipSolveResult.Status.SOLVED, result.get().getStatus());
+            assertEquals(soloNodes, result.get().getStats().getNodes());
+        }
+        assertEquals(7 * soloNodes, puzzle.getSearchStats().getNodes());
+        assertEquals(0, cpuShare.getSlotsInUse());
+    }
+
+    static ZipPuzzle puzzle(final int[][] board, final HashMap<String, Set<String>> bannedMoves) {
+        final HashMap<Integer, Integer[]> nodeLocations = new HashMap<>();
+        int maxNode = 0;
+        for (int row = 0; row < board.length; row++) {
+            for (int col = 0; col < board[row].length; col++) {
+                if (board[row][col] > 0) {
+                    nodeLocations.put(board[row][col], new Integer[]{row, col});
+                    maxNode = Math.max(maxNode, board[row][col]);
+                }
+            }
+        }
+        return new ZipPuzzle(board, bannedMoves, nodeLocations, maxNode);
+    }
+
+    static void block(final HashMap<String, Set<String>> bannedMoves, final String a, final String b) {
+        bannedMoves.computeIfAbsent(a, k -> new HashSet<>()).add(b);
+        bannedMoves.computeIfAbsent(b, k -> new HashSet<>()).add(a);
+    }
+
+    static void assertValidSolution(final ZipPuzzle puzzle, final List<Integer[]> solution) {
+        final int[][] board = puzzle.getBoard();
+        assertEquals(board.length * board[0].length, solution.size());
+        final Set<String> seen = new HashSet<>();
+        int nextNode = 1;
+        for (int i = 0; i < solution.size(); i++) {
+            final Integer[] step = solution.get(i);
+            final String key = step[0] + "," + step[1];
+            assertTrue(seen.add(key), "Cell visited twice: " + key);
+            if (i > 0) {
+                final Integer[] prev = solution.get(i - 1);
+                assertEquals(1, Math.abs(step[0] - prev[0]) + Math.abs(step[1] - prev[1]));
+                final String prevKey = prev[0] + "," + prev[1];
+                assertTrue(!puzzle.getBannedMoves().getOrDefault(prevKey, Set.of()).contains(key),
+                        "Crossed a wall between " + prevKey + " and " + key);
+            }
+            final int value = board[step[0]][step[1]];
+            if (value != 0) {
+                assertEquals(nextNode, value);
+                nextNode++;
+            }
+        }
+        assertEquals(puzzle.getMaxNode() + 1, nextNode);
+    }
+}
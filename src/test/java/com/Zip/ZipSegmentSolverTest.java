@@ -0,0 +1,53 @@
+package com.Zip;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipSegmentSolverTest {
+
+    @Test
+    void solvesGeneratedPuzzles() {
+        final ZipPuzzleGenerator generator = new ZipPuzzleGenerator(5);
+        for (ZipPuzzleGenerator.Difficulty difficulty : ZipPuzzleGenerator.Difficulty.values()) {
+            final ZipPuzzle puzzle = generator.generate(7, 7, difficulty);
+            ZipPuzzleTest.assertValidSolution(puzzle, puzzle.getSegmentSolution());
+        }
+    }
+
+    @Test
+    void returnsNullWhenUnsolvable() {
+        final HashMap<String, Set<String>> bannedMoves = new HashMap<>();
+        ZipPuzzleTest.block(bannedMoves, "0,0", "0,1");
+        ZipPuzzleTest.block(bannedMoves, "0,0", "1,0");
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {1, 0, 0},
+                {0, 0, 0},
+                {0, 0, 2}
+        }, bannedMoves).getZipBoard();
+
+        assertNull(new ZipSegmentSolver(zipBoard).solve(zipBoard.getStartCell()));
+    }
+
+    @Test
+    void memoizedFailuresSaveSearchOnDenseCheckpoints() {
+        final ZipPuzzle puzzle = new ZipPuzzleGenerator(3).generate(8, 8, ZipPuzzleGenerator.Difficulty.EASY);
+        final ZipBoard zipBoard = puzzle.getZipBoard();
+        final ZipSearchStats memoized = new ZipSearchStats();
+        final ZipSearchStats unmemoized = new ZipSearchStats();
+
+        final ZipSegmentSolver solver = new ZipSegmentSolver(zipBoard, memoized, ZipSegmentSolver.DEFAULT_MAX_MEMO_ENTRIES);
+        final int[] path = solver.solve(zipBoard.getStartCell());
+        new ZipSegmentSolver(zipBoard, unmemoized, 0).solve(zipBoard.getStartCell());
+
+        assertEquals(zipBoard.getCellCount(), path.length);
+        assertTrue(solver.getMemoHits() > 0);
+        assertEquals(solver.getMemoHits(), memoized.getSegmentMemoHits());
+        assertTrue(memoized.getNodes() < unmemoized.getNodes());
+    }
+}
@@ -0,0 +1,104 @@
+package com.Zip;
+
+import com.Utils.CpuShare;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipSolveBudgetTest {
+
+    // Takes the plain depth-first search far longer than any of these budgets
+    private static ZipPuzzle slowPuzzle() {
+        return new ZipPuzzleGenerator(0).generate(12, 12, ZipPuzzleGenerator.Difficulty.HARD);
+    }
+
+    @Test
+    void reportsSolvedAndUnsolvableBoards() {
+        final ZipSolveResult solved = new ZipPuzzleGenerator(1).generate(6, 6, ZipPuzzleGenerator.Difficulty.MEDIUM)
+                .solve(ZipSolveBudget.unlimited());
+        assertEquals(ZipSolveResult.Status.SOLVED, solved.getStatus());
+        assertEquals(36, solved.getPath().length);
+
+        final HashMap<String, Set<String>> bannedMoves = new HashMap<>();
+        ZipPuzzleTest.block(bannedMoves, "0,0", "0,1");
+        ZipPuzzleTest.block(bannedMoves, "0,0", "1,0");
+        final ZipSolveResult unsolvable = ZipPuzzleTest.puzzle(new int[][]{
+                {1, 0, 0},
+                {0, 0, 0},
+                {0, 0, 2}
+        }, bannedMoves).solve(ZipSolveBudget.unlimited());
+        assertEquals(ZipSolveResult.Status.UNSOLVABLE, unsolvable.getStatus());
+        assertNull(unsolvable.getPath());
+    }
+
+    @Test
+    void stopsAtDeadlineWithProgress() {
+        final ZipSolveResult result = slowPuzzle().solve(new ZipSolveBudget(100, 0));
+
+        assertEquals(ZipSolveResult.Status.BUDGET_EXCEEDED, result.getStatus());
+        assertNull(result.getPath());
+        assertTrue(result.getNodes() > 0);
+        assertTrue(result.getDeepestPath() > 1);
+        assertTrue(result.getElapsedNanos() < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    void parallelEngineStopsAtNodeLimit() {
+        final ZipPuzzle puzzle = slowPuzzle();
+        final ZipSolveBudget budget = new ZipSolveBudget(0, 2 * ZipSolveBudget.CHARGE_INTERVAL);
+
+        assertNull(puzzle.solveParallel(budget, new CpuShare(4)));
+        assertTrue(budget.isStopped());
+        // Each of the pool's workers may expand up to one charge interval past the limit
+        assertTrue(budget.getNodes() < 6 * ZipSolveBudget.CHARGE_INTERVAL);
+        assertTrue(puzzle.getSearchStats().getNodes() > 0);
+    }
+
+    @Test
+    void stopsAtNodeLimit() {
+        final ZipSolveResult result = slowPuzzle().solve(new ZipSolveBudget(0, 2 * ZipSolveBudget.CHARGE_INTERVAL));
+
+        assertEquals(ZipSolveResult.Status.BUDGET_EXCEEDED, result.getStatus());
+        assertTrue(result.getNodes() >= 2 * ZipSolveBudget.CHARGE_INTERVAL);
+        assertTrue(result.getNodes() < 4 * ZipSolveBudget.CHARGE_INTERVAL);
+    }
+
+    @Test
+    void stopsWhenSolvingThreadIsInterrupted() throws InterruptedException {
+        final ZipPuzzle puzzle = slowPuzzle();
+        final AtomicReference<ZipSolveResult> result = new AtomicReference<>();
+        final Thread solver = new Thread(() -> result.set(puzzle.solve(ZipSolveBudget.unlimited())));
+        solver.start();
+        Thread.sleep(50);
+        solver.interrupt();
+        solver.join(2_000);
+
+        assertFalse(solver.isAlive());
+        assertEquals(ZipSolveResult.Status.BUDGET_EXCEEDED, result.get().getStatus());
+    }
+
+    @Test
+    void stopsEveryParallelWorker() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final ZipBoard zipBoard = slowPuzzle().getZipBoard();
+            final ZipSolveBudget budget = new ZipSolveBudget(100, 0);
+
+            assertNull(new ZipParallelSolver(zipBoard, pool, new ZipSearchStats(), budget).solve(zipBoard.getStartCell()));
+            assertTrue(budget.isStopped());
+            assertTrue(pool.awaitQuiescence(1, TimeUnit.SECONDS));
+            assertEquals(0, pool.getActiveThreadCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
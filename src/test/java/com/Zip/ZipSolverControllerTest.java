@@ -0,0 +1,118 @@
+package com.Zip;
+
+import com.Utils.SolutionCache;
+import com.Utils.SolveGate;
+import com.Utils.SolverCostModel;
+import com.Utils.SolverMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipSolverControllerTest {
+
+    private final SolverMetrics solverMetrics = new SolverMetrics();
+
+    private final SolveGate solveGate = new SolveGate(2, 100, 5000, 5000);
+
+    private final ZipSolverController controller = new ZipSolverController(new ZipPuzzleParser(), solveGate,
+            new SolutionCache(16, 60, ""), solverMetrics, new ZipSolverEngines(new SolverCostModel(1), solverMetrics, 0));
+
+    @AfterEach
+    void tearDown() {
+        solveGate.destroy();
+    }
+
+    @Test
+    void solvesJsonGrid() {
+        final ZipSolverController.SolveRequest request = new ZipSolverController.SolveRequest(new int[][]{
+                {1, 0, 0},
+                {0, 0, 0},
+                {0, 0, 2}
+        }, List.of(new int[]{0, 0, 0, 1}));
+
+        final List<Integer[]> path = controller.solve(request, null, null).path();
+
+        ZipPuzzleTest.assertValidSolution(ZipSolverController.toPuzzle(request), path);
+        assertEquals(1, solverMetrics.getTimerCount("zip.api.solve"));
+        assertTrue(solverMetrics.getCount("zip.nodes") >= path.size() - 1);
+    }
+
+    @Test
+    void solvesBoardHtml() {
+        final ZipPuzzle puzzle = new ZipPuzzleGenerator(5).generate(5, 5, ZipPuzzleGenerator.Difficulty.MEDIUM);
+
+        final List<Integer[]> path = controller.solveHtml(ZipPuzzleGenerator.toHtml(puzzle), null, null).path();
+
+        ZipPuzzleTest.assertValidSolution(puzzle, path);
+    }
+
+    @Test
+    void solvesWithNamedEngine() {
+        final ZipPuzzle puzzle = new ZipPuzzleGenerator(6).generate(6, 6, ZipPuzzleGenerator.Difficulty.EASY);
+
+        final List<Integer[]> path = controller.solveHtml(ZipPuzzleGenerator.toHtml(puzzle), null, "segment").path();
+
+        ZipPuzzleTest.assertValidSolution(puzzle, path);
+        assertEquals(1, solverMetrics.getTimerCount("zip.engine.segment"));
+    }
+
+    @Test
+    void everyEngineAcceptsPathsThatRunPastTheLastCheckpoint() {
+        final List<ZipSolverController.SolveRequest> requests = List.of(
+                new ZipSolverController.SolveRequest(new int[][]{{1, 2, 0}}, null),
+                new ZipSolverController.SolveRequest(new int[][]{{1, 0}, {0, 0}}, null));
+
+        for (ZipSolverController.SolveRequest request : requests) {
+            final List<Integer[]> path = controller.solve(request, null, "edge").path();
+
+            ZipPuzzleTest.assertValidSolution(ZipSolverController.toPuzzle(request), path);
+        }
+        assertEquals(2, solverMetrics.getTimerCount("zip.engine.edge"));
+    }
+
+    @Test
+    void rejectsUnsolvableAndMalformedBoards() {
+        final ZipSolverController.SolveRequest walledIn = new ZipSolverController.SolveRequest(new int[][]{
+                {1, 0},
+                {0, 2}
+        }, List.of(new int[]{0, 0, 0, 1}, new int[]{0, 0, 1, 0}));
+        final ZipSolverController.SolveRequest ragged = new ZipSolverController.SolveRequest(new int[][]{
+                {1, 0},
+                {2}
+        }, null);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_CONTENT,
+                assertThrows(ResponseStatusException.class, () -> controller.solve(walledIn, null, null)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(ResponseStatusException.class, () -> controller.solve(ragged, null, null)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(ResponseStatusException.class, () -> controller.solveHtml("<div></div>", null, null)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(ResponseStatusException.class, () -> controller.solve(walledIn, null, "bogus")).getStatusCode());
+    }
+
+    @Test
+    void rejectsOversizedBoardsBadCheckpointsAndWalls() {
+        final List<ZipSolverController.SolveRequest> requests = List.of(
+                new ZipSolverController.SolveRequest(new int[][]{{1_000_000_000}}, null),
+                new ZipSolverController.SolveRequest(new int[ZipSolverController.MAX_CELLS + 1][1], null),
+                new ZipSolverController.SolveRequest(new int[][]{{1, 2}, {2, 0}}, null),
+                new ZipSolverController.SolveRequest(new int[][]{{1, 3}, {0, 0}}, null),
+                new ZipSolverController.SolveRequest(new int[][]{{2, 3}, {0, 0}}, null),
+                new ZipSolverController.SolveRequest(new int[][]{{0, 0}, {0, 0}}, null),
+                new ZipSolverController.SolveRequest(new int[][]{{1, 0}, {0, 2}}, List.of(new int[]{0, 0, 1, 1})),
+                new ZipSolverController.SolveRequest(new int[][]{{1, 0}, {0, 2}}, List.of(new int[]{1, 1, 1, 2})));
+
+        for (ZipSolverController.SolveRequest request : requests) {
+            assertEquals(HttpStatus.BAD_REQUEST,
+                    assertThrows(ResponseStatusException.class, () -> controller.solve(request, null, null)).getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.Zip;
+
+import com.Utils.KeySequence;
+import com.Utils.PhaseTimings;
+import com.Utils.ReplayControl;
+import com.Utils.TraceBuffer;
+import com.Utils.TraceReplay;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Keys;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipTracePlayerTest {
+
+    @Test
+    void coalescesAbandonedMoves() {
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {1, 0},
+                {0, 2}
+        }, new HashMap<>()).getZipBoard();
+        final TraceBuffer buffer = new TraceBuffer(16);
+        // Enter 0, try 1 and back out, then go down and right
+        for (int event : new int[]{0, 1, ~1, 2, 3}) {
+            buffer.accept(event);
+        }
+        buffer.close();
+
+        final List<CharSequence> keys = new ArrayList<>();
+        final ZipTracePlayer player = new ZipTracePlayer(zipBoard, buffer, sequence -> keys.addAll(sequence.getKeys()), new ReplayControl(0));
+        player.run();
+
+        assertEquals(List.of(Keys.ARROW_DOWN, Keys.ARROW_RIGHT), keys);
+        assertEquals(2, player.getKeysSent());
+    }
+
+    @Test
+    void replayEndsOnSolution() throws Exception {
+        final ZipPuzzle puzzle = ZipPuzzleTest.puzzle(new int[][]{
+                {1, 0, 0, 0},
+                {0, 0, 2, 0},
+                {0, 3, 0, 0},
+                {0, 0, 0, 4}
+        }, new HashMap<>());
+        final ZipBoard zipBoard = puzzle.getZipBoard();
+        final int[] cursor = new int[2];
+        final TraceBuffer buffer = new TraceBuffer(64);
+        final ZipTracePlayer player = new ZipTracePlayer(zipBoard, buffer, sequence -> move(cursor, sequence), new ReplayControl(0));
+
+        final FutureTask<Void> playback = new FutureTask<>(player, null);
+        Thread.ofVirtual().start(playback);
+        puzzle.visualizeSolution(buffer, false);
+        buffer.close();
+        playback.get();
+
+        final List<Integer[]> solution = puzzle.getSolution();
+        final Integer[] end = solution.getLast();
+        assertEquals(end[0], cursor[0]);
+        assertEquals(end[1], cursor[1]);
+    }
+
+    @Test
+    void skipToEndIgnoresRate() {
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {1, 0, 0, 0, 0, 0, 0, 2}
+        }, new HashMap<>()).getZipBoard();
+        final TraceBuffer buffer = new TraceBuffer(16);
+        for (int cell = 0; cell < 8; cell++) {
+            buffer.accept(cell);
+        }
+        buffer.close();
+        final ReplayControl control = new ReplayControl(1);
+        control.skipToEnd();
+
+        final ZipTracePlayer player = new ZipTracePlayer(zipBoard, buffer, sequence -> {
+        }, control);
+        assertTimeoutPreemptively(Duration.ofSeconds(2), player::run);
+        assertEquals(7, player.getKeysSent());
+    }
+
+    @Test
+    void failedSolveStopsAndAwaitsPlayback() {
+        final ZipBoard zipBoard = ZipPuzzleTest.puzzle(new int[][]{
+                {1, 0, 0, 0, 0, 0, 0, 2}
+        }, new HashMap<>()).getZipBoard();
+        final TraceBuffer buffer = new TraceBuffer(16);
+        // One move a second, so the replay would still be running long after the solve fails
+        final ZipTracePlayer player = new ZipTracePlayer(zipBoard, buffer, sequence -> {
+        }, new ReplayControl(1));
+        final AtomicBoolean playerDone = new AtomicBoolean();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertThrows(IllegalStateException.class,
+                () -> TraceReplay.run(buffer, () -> {
+                    player.run();
+                    playerDone.set(true);
+                }, () -> {
+                    for (int cell = 0; cell < 8; cell++) {
+                        buffer.accept(cell);
+                    }
+                    throw new IllegalStateException("Solver failed");
+                }, new PhaseTimings())));
+        assertTrue(playerDone.get());
+        assertTrue(player.getKeysSent() < 7);
+    }
+
+    private static void move(final int[] cursor, final KeySequence sequence) {
+        for (CharSequence key : sequence.getKeys()) {
+            if (key == Keys.ARROW_UP) {
+                cursor[0]--;
+            } else if (key == Keys.ARROW_DOWN) {
+                cursor[0]++;
+            } else if (key == Keys.ARROW_LEFT) {
+                cursor[1]--;
+            } else if (key == Keys.ARROW_RIGHT) {
+                cursor[1]++;
+            }
+        }
+    }
+}